@@ -0,0 +1,196 @@
+package sgvic.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU de PreparedStatement de UNA conexión física, por texto SQL.
+ *
+ * Los DAO siguen haciendo con.prepareStatement(SQL) + close() como siempre;
+ * el close() de la sentencia cacheada sólo limpia los parámetros y la deja lista
+ * para el próximo prepareStatement con el mismo SQL (sin volver a parsear ni
+ * planificar en el servidor). Una conexión la usa un solo hilo a la vez,
+ * así que no hace falta sincronizar.
+ */
+final class CacheSentencias {
+
+    /** Contadores compartidos por todas las conexiones del pool. */
+    static final class Contadores {
+        final LongAdder aciertos = new LongAdder();
+        final LongAdder fallos = new LongAdder();
+        final LongAdder desalojos = new LongAdder();
+    }
+
+    private final Connection fisica;
+    private final Contadores contadores;
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    CacheSentencias(Connection fisica, int capacidad, Contadores contadores) {
+        this.fisica = fisica;
+        this.contadores = contadores;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+                if (size() <= capacidad) return false;
+                contadores.desalojos.increment();
+                eldest.getValue().desalojar();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Devuelve la sentencia para 'sql' (la cacheada si está libre, o una nueva).
+     * 'clavesGeneradas' es el mismo flag de Connection.prepareStatement(String, int).
+     */
+    PreparedStatement preparar(Connection prestada, String sql, int clavesGeneradas) throws SQLException {
+        String clave = clavesGeneradas + ":" + sql;
+        Entrada e = entradas.get(clave);
+        if (e != null && !e.enUso) {
+            contadores.aciertos.increment();
+        } else {
+            contadores.fallos.increment();
+            PreparedStatement ps = fisica.prepareStatement(sql, clavesGeneradas);
+            if (e != null) {
+                // misma sentencia abierta dos veces a la vez (ej.: anidada): la segunda no se cachea
+                return prestar(prestada, new Entrada(ps, false));
+            }
+            e = new Entrada(ps, true);
+            entradas.put(clave, e);
+        }
+        return prestar(prestada, e);
+    }
+
+    /** Cierra todas las sentencias cacheadas (antes de cerrar la conexión física). */
+    void cerrarTodas() {
+        Iterator<Entrada> it = entradas.values().iterator();
+        while (it.hasNext()) {
+            it.next().desalojar();
+            it.remove();
+        }
+    }
+
+    private PreparedStatement prestar(Connection prestada, Entrada e) {
+        e.enUso = true;
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new SentenciaPrestada(prestada, e));
+    }
+
+    /** Sentencia física + estado dentro del cache. */
+    private static final class Entrada {
+        final PreparedStatement ps;
+        boolean cacheable;
+        boolean enUso;
+        boolean ajustada;   // se tocó fetchSize/maxRows/queryTimeout y hay que restaurarlos
+
+        Entrada(PreparedStatement ps, boolean cacheable) {
+            this.ps = ps;
+            this.cacheable = cacheable;
+        }
+
+        /** Sale del cache: se cierra ya si está libre, o al devolverse si está en uso. */
+        void desalojar() {
+            cacheable = false;
+            if (!enUso) cerrarFisica();
+        }
+
+        /** close() lógico del DAO. */
+        void devolver() {
+            enUso = false;
+            if (!cacheable) {
+                cerrarFisica();
+                return;
+            }
+            try {
+                ResultSet rs = ps.getResultSet();
+                if (rs != null) rs.close();
+                ps.clearParameters();
+                ps.clearBatch();
+                if (ajustada) {
+                    ps.setFetchSize(0);
+                    ps.setMaxRows(0);
+                    ps.setQueryTimeout(0);
+                    ajustada = false;
+                }
+            } catch (SQLException ex) {
+                // si no se puede limpiar no se reutiliza
+                cacheable = false;
+                cerrarFisica();
+            }
+        }
+
+        void cerrarFisica() {
+            try {
+                ps.close();
+            } catch (SQLException ignored) {
+                // la conexión puede estar cerrándose
+            }
+        }
+    }
+
+    /** Proxy que recibe el DAO: close() devuelve la sentencia al cache. */
+    private static final class SentenciaPrestada implements InvocationHandler {
+        private final Connection prestada;
+        private Entrada entrada;
+
+        SentenciaPrestada(Connection prestada, Entrada entrada) {
+            this.prestada = prestada;
+            this.entrada = entrada;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (entrada != null) {
+                        Entrada e = entrada;
+                        entrada = null;
+                        e.devolver();
+                    }
+                    return null;
+                case "isClosed":
+                    return entrada == null || entrada.ps.isClosed();
+                case "getConnection":
+                    return prestada;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "SentenciaCacheada[" + (entrada != null ? entrada.ps : "devuelta") + "]";
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setQueryTimeout":
+                    if (entrada != null) entrada.ajustada = true;
+                    return delegar(method, args);
+                default:
+                    return delegar(method, args);
+            }
+        }
+
+        /** Pasa la llamada a la sentencia real. */
+        private Object delegar(Method method, Object[] args) throws Throwable {
+            if (entrada == null) throw new SQLException("La sentencia ya fue cerrada.");
+            if (SentenciasEnCurso.esEjecucion(method)) {
+                return SentenciasEnCurso.ejecutar(entrada.ps, method, args);
+            }
+            try {
+                return method.invoke(entrada.ps, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -2,13 +2,17 @@ package sgvic.config;
 
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Properties;
 
 public class DB {
 
     private static final Properties props = new Properties();
+    private static final PoolConexiones pool;
+
+    // false hasta que Migraciones dejó el esquema al día (o si están deshabilitadas)
+    private static volatile boolean esquemaAlDia;
 
     static {
         try {
@@ -22,17 +26,117 @@ public class DB {
             // Cargar el driver de MySQL
             Class.forName("com.mysql.cj.jdbc.Driver");
 
+            // Pool de conexiones (no abre nada todavía: la BD puede no estar levantada)
+            Properties propsDriver = new Properties();
+            propsDriver.setProperty("user", props.getProperty("user"));
+            propsDriver.setProperty("password", props.getProperty("password", ""));
+            // Sentencias preparadas del lado del servidor: se parsean una vez y el
+            // cache de cada conexión del pool las reutiliza (ver CacheSentencias).
+            propsDriver.setProperty("useServerPrepStmts", "true");
+            propsDriver.setProperty("cachePrepStmts", "false");
+            // Con fetchSize > 0 el driver usa un cursor del servidor en vez de traer todo
+            propsDriver.setProperty("useCursorFetch", "true");
+            // Los lotes de INSERT viajan como un único INSERT multi-fila
+            propsDriver.setProperty("rewriteBatchedStatements", "true");
+
+            pool = new PoolConexiones(
+                    props.getProperty("url"),
+                    propsDriver,
+                    propiedadEntera("pool.minimo", 2),
+                    propiedadEntera("pool.maximo", 10),
+                    propiedadEntera("pool.ociosoMaxSeg", 300) * 1000L,
+                    propiedadEntera("pool.vidaMaxSeg", 1800) * 1000L,
+                    propiedadEntera("pool.esperaMaxMs", 5000),
+                    propiedadEntera("pool.validarTrasMs", 500),
+                    propiedadEntera("pool.cacheSentencias", 64)
+            );
+            esquemaAlDia = !propiedadBooleana("migraciones.habilitadas", true);
+            Runtime.getRuntime().addShutdownHook(new Thread(DB::cerrarPool, "sgvic-pool-cierre"));
+
         } catch (Exception e) {
             throw new ExceptionInInitializerError("Error cargando configuración de BD: " + e);
         }
     }
 
+    /**
+     * Devuelve una conexión del pool. Se usa igual que antes (try-with-resources):
+     * al cerrarla vuelve al pool en lugar de cerrarse el socket.
+     * Dentro de Transacciones.enTransaccion/enLectura devuelve la conexión de la transacción.
+     * La primera vez, antes de entregarla, crea o actualiza el esquema (ver Migraciones).
+     */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(
-                props.getProperty("url"),
-                props.getProperty("user"),
-                props.getProperty("password")
-        );
+        Connection enCurso = Transacciones.conexionEnCurso();
+        if (enCurso != null) return enCurso;
+        if (!esquemaAlDia) actualizarEsquema();
+
+        Connection con = pool.obtener();
+        return Traza.isHabilitada() ? Traza.envolver(con) : con;
+    }
+
+    /**
+     * Aplica las migraciones pendientes y verifica los índices. Si falla (BD caída, falta
+     * de permisos...) la excepción llega a quien pidió la conexión y se reintenta la próxima vez.
+     */
+    private static synchronized void actualizarEsquema() throws SQLException {
+        if (esquemaAlDia) return;
+        try (Connection con = pool.obtener()) {
+            Migraciones.aplicar(con);
+        }
+        esquemaAlDia = true;
+    }
+
+    /**
+     * Problemas del esquema que las migraciones no pudieron resolver solas (ej.: una clave
+     * única que falta porque hay filas repetidas), con el detalle para corregirlos.
+     * Vacío si todo está bien o si las migraciones todavía no corrieron.
+     */
+    public static List<String> getProblemasEsquema() {
+        return Migraciones.problemas();
+    }
+
+    /** Estado actual del pool (activas, ociosas, hilos en espera, latencia de préstamo). */
+    public static EstadisticasPool getEstadisticasPool() {
+        return pool.estadisticas();
     }
-}
 
+    /** Abre de antemano las conexiones mínimas del pool. */
+    public static void precalentarPool() throws SQLException {
+        pool.precalentar();
+    }
+
+    /**
+     * Cancela (Statement.cancel) las consultas que 'hilo' está ejecutando ahora mismo.
+     * El hilo recibe una SQLException y sigue normalmente; la conexión sigue siendo válida.
+     * Puede tardar (el driver abre otra conexión para el KILL QUERY): no llamarlo desde el EDT.
+     * Devuelve cuántas consultas se cancelaron.
+     */
+    public static int cancelarConsultas(Thread hilo) {
+        return SentenciasEnCurso.cancelar(hilo);
+    }
+
+    /** Cierra las conexiones ociosas y detiene el mantenimiento del pool. */
+    public static void cerrarPool() {
+        pool.cerrar();
+    }
+
+    /**
+     * Lee una propiedad numérica de db.properties.
+     * Si no está o no es un número, devuelve el valor por defecto.
+     */
+    public static int propiedadEntera(String clave, int porDefecto) {
+        String valor = props.getProperty(clave);
+        if (valor == null || valor.isBlank()) return porDefecto;
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            return porDefecto;
+        }
+    }
+
+    /** Lee una propiedad true/false de db.properties. */
+    public static boolean propiedadBooleana(String clave, boolean porDefecto) {
+        String valor = props.getProperty(clave);
+        if (valor == null || valor.isBlank()) return porDefecto;
+        return Boolean.parseBoolean(valor.trim());
+    }
+}
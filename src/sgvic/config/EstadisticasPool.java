@@ -0,0 +1,74 @@
+package sgvic.config;
+
+/**
+ * Foto (inmutable) del estado del pool de conexiones en un instante dado.
+ * Se obtiene con DB.getEstadisticasPool() y sirve para dimensionar
+ * pool.minimo / pool.maximo bajo carga real.
+ */
+public final class EstadisticasPool {
+
+    private final int activas;            // conexiones prestadas en este momento
+    private final int ociosas;            // conexiones abiertas esperando ser usadas
+    private final int enEspera;           // hilos bloqueados esperando una conexión
+    private final int maximo;             // tope configurado (pool.maximo)
+    private final long prestamos;         // total de préstamos desde el arranque
+    private final long timeouts;          // préstamos que agotaron pool.esperaMaxMs
+    private final long creadas;           // conexiones físicas abiertas
+    private final long descartadas;       // conexiones físicas cerradas (ociosas, vencidas o rotas)
+    private final double esperaPromedioMs;
+    private final double esperaMaximaMs;
+    private final long sentenciasAciertos;    // prepareStatement servidos desde el cache
+    private final long sentenciasFallos;      // prepareStatement que tuvieron que preparar
+    private final long sentenciasDesalojadas; // sentencias expulsadas por LRU
+
+    EstadisticasPool(int activas, int ociosas, int enEspera, int maximo,
+                     long prestamos, long timeouts, long creadas, long descartadas,
+                     double esperaPromedioMs, double esperaMaximaMs,
+                     long sentenciasAciertos, long sentenciasFallos, long sentenciasDesalojadas) {
+        this.activas = activas;
+        this.ociosas = ociosas;
+        this.enEspera = enEspera;
+        this.maximo = maximo;
+        this.prestamos = prestamos;
+        this.timeouts = timeouts;
+        this.creadas = creadas;
+        this.descartadas = descartadas;
+        this.esperaPromedioMs = esperaPromedioMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.sentenciasAciertos = sentenciasAciertos;
+        this.sentenciasFallos = sentenciasFallos;
+        this.sentenciasDesalojadas = sentenciasDesalojadas;
+    }
+
+    // === Getters ===
+    public int getActivas() { return activas; }
+    public int getOciosas() { return ociosas; }
+    public int getEnEspera() { return enEspera; }
+    public int getMaximo() { return maximo; }
+    public long getPrestamos() { return prestamos; }
+    public long getTimeouts() { return timeouts; }
+    public long getCreadas() { return creadas; }
+    public long getDescartadas() { return descartadas; }
+    public double getEsperaPromedioMs() { return esperaPromedioMs; }
+    public double getEsperaMaximaMs() { return esperaMaximaMs; }
+    public long getSentenciasAciertos() { return sentenciasAciertos; }
+    public long getSentenciasFallos() { return sentenciasFallos; }
+    public long getSentenciasDesalojadas() { return sentenciasDesalojadas; }
+
+    /** Proporción de prepareStatement servidos desde el cache (0..1). */
+    public double getTasaAciertoSentencias() {
+        long n = sentenciasAciertos + sentenciasFallos;
+        return n == 0 ? 0 : (double) sentenciasAciertos / n;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Pool{activas=%d, ociosas=%d, enEspera=%d, maximo=%d, prestamos=%d, timeouts=%d, " +
+                "creadas=%d, descartadas=%d, esperaProm=%.3fms, esperaMax=%.3fms, " +
+                "sentencias{aciertos=%d, fallos=%d, desalojadas=%d}}",
+                activas, ociosas, enEspera, maximo, prestamos, timeouts,
+                creadas, descartadas, esperaPromedioMs, esperaMaximaMs,
+                sentenciasAciertos, sentenciasFallos, sentenciasDesalojadas);
+    }
+}
@@ -0,0 +1,379 @@
+package sgvic.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Crea y actualiza el esquema de la base 'sgvic' con scripts versionados.
+ *
+ * Los scripts están en sgvic/config/migraciones (dentro del jar) con nombre
+ * V&lt;número&gt;__&lt;descripción&gt;.sql y se listan en SCRIPTS, en orden. Cada uno se
+ * aplica una sola vez; los aplicados quedan en la tabla 'sgvic_migracion'.
+ * Para cambiar el esquema se agrega un script nuevo: nunca se edita uno aplicado
+ * (si su contenido cambió, se avisa en el log).
+ *
+ * DB lo ejecuta antes de entregar la primera conexión. Con varias instancias
+ * arrancando a la vez, un GET_LOCK del servidor hace que migre una sola.
+ *
+ * El DDL de MySQL no es transaccional: si un script se corta a mitad, la próxima vez
+ * se vuelve a ejecutar entero, y "la tabla ya existe" / "el índice ya existe" se
+ * toman como hechos. Eso también permite adoptar una base armada a mano.
+ *
+ * Al terminar agrega las claves únicas que falten (CLAVES_UNICAS) y verifica que estén
+ * los índices que necesitan las consultas de los DAO. Una clave que no se puede crear
+ * porque hay filas repetidas no corta el arranque ni se borra nada: queda un informe con
+ * las filas a corregir en el log y en problemas() (la app lo muestra al abrir).
+ */
+final class Migraciones {
+
+    private static final Logger LOG = Logger.getLogger("sgvic.sql");
+
+    /** Scripts en orden de versión. */
+    private static final String[] SCRIPTS = {
+            "V001__esquema_inicial.sql",
+            "V002__indices.sql",
+            "V003__cliente_resumen.sql",
+            "V004__indice_periodo.sql",
+    };
+
+    /**
+     * Índices que necesitan las consultas: tabla y columnas iniciales, en orden.
+     * Alcanza con que algún índice de la tabla empiece con esas columnas (da igual el nombre).
+     */
+    private static final String[][] INDICES_REQUERIDOS = {
+            {"cliente", "cuit"},
+            {"obligacion", "idCliente"},
+            {"obligacion", "estado", "fechaVenc"},
+            {"obligacion", "fechaVenc"},
+            {"pago", "idObligacion"},
+            {"alerta", "idObligacion", "fecha"},
+            {"alerta", "leida", "fecha"},
+            {"obligacion", "idCliente", "estado", "fechaVenc", "monto"},
+            {"cliente_resumen", "proximoVenc"},
+            {"obligacion", "periodo"},
+    };
+
+    /**
+     * Claves únicas de las que dependen los DAO: nombre, tabla y columnas. V001 las crea en
+     * instalaciones nuevas; en una base adoptada se agregan si faltan y no hay repetidos.
+     *  - cliente.cuit: ClienteDAO traduce la violación a "El CUIT ya existe" y la importación
+     *    reintenta de a uno cuando otra terminal cargó el mismo CUIT.
+     *  - obligacion (idCliente, idTipo, periodo): ObligacionDAO.guardar rechaza la repetida.
+     *  - pago por obligación: respaldo del UPDATE condicional de PagoDAO.registrar.
+     *  - alerta por obligación y día: AlertaDAO.generarDelDia no duplica alertas.
+     */
+    private static final String[][] CLAVES_UNICAS = {
+            {"uk_cliente_cuit", "cliente", "cuit"},
+            {"uk_tipo_codigo", "tipoobligacion", "codigo"},
+            {"uk_obligacion_cliente_tipo_periodo", "obligacion", "idCliente", "idTipo", "periodo"},
+            {"uk_pago_obligacion", "pago", "idObligacion"},
+            {"uk_alerta_obligacion_fecha", "alerta", "idObligacion", "fecha"},
+    };
+
+    // Ejemplos de valores repetidos que se listan por clave en el informe
+    private static final int EJEMPLOS_REPETIDOS = 5;
+
+    // Lo que quedó sin resolver en la última aplicación (claves que no se pudieron crear)
+    private static final List<String> PROBLEMAS = new CopyOnWriteArrayList<>();
+
+    private static final String TABLA_VERSIONES =
+            "CREATE TABLE IF NOT EXISTS sgvic_migracion (" +
+            "  version INT NOT NULL PRIMARY KEY," +
+            "  script VARCHAR(200) NOT NULL," +
+            "  checksum BIGINT NOT NULL," +
+            "  aplicada TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP," +
+            "  duracionMs INT NOT NULL" +
+            ") ENGINE=InnoDB";
+
+    private static final String SELECT_APLICADAS = "SELECT version, checksum FROM sgvic_migracion";
+
+    private static final String INSERT_APLICADA =
+            "INSERT INTO sgvic_migracion (version, script, checksum, duracionMs) VALUES (?,?,?,?)";
+
+    private static final String SELECT_INDICES =
+            "SELECT TABLE_NAME, INDEX_NAME, COLUMN_NAME, NON_UNIQUE FROM information_schema.STATISTICS " +
+            "WHERE TABLE_SCHEMA = DATABASE() ORDER BY TABLE_NAME, INDEX_NAME, SEQ_IN_INDEX";
+
+    private static final String LOCK = "SELECT GET_LOCK('sgvic.migraciones', 60)";
+    private static final String UNLOCK = "SELECT RELEASE_LOCK('sgvic.migraciones')";
+
+    // Errores de MySQL que en un script re-ejecutado significan "ya estaba hecho"
+    private static final int ER_TABLA_EXISTE = 1050;
+    private static final int ER_INDICE_EXISTE = 1061;
+
+    private Migraciones() { }
+
+    /** Aplica los scripts pendientes, agrega las claves únicas y verifica los índices (con autocommit). */
+    static void aplicar(Connection con) throws SQLException {
+        PROBLEMAS.clear();
+        try (Statement st = con.createStatement()) {
+            st.execute(TABLA_VERSIONES);
+            try (ResultSet rs = st.executeQuery(LOCK)) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Otra instancia está actualizando el esquema de la BD.");
+                }
+            }
+            try {
+                aplicarPendientes(con, st);
+                agregarClavesUnicas(con, st);
+            } finally {
+                st.executeQuery(UNLOCK).close();
+            }
+        }
+
+        List<String> faltantes = indicesFaltantes(con);
+        if (!faltantes.isEmpty()) {
+            LOG.warning("Faltan índices que usan las consultas de SGVIC: " + String.join(", ", faltantes)
+                    + ". Las consultas van a funcionar, pero recorriendo tablas enteras.");
+        }
+    }
+
+    private static void aplicarPendientes(Connection con, Statement st) throws SQLException {
+        Map<Integer, Long> aplicadas = new HashMap<>();
+        try (ResultSet rs = st.executeQuery(SELECT_APLICADAS)) {
+            while (rs.next()) aplicadas.put(rs.getInt(1), rs.getLong(2));
+        }
+
+        for (String script : SCRIPTS) {
+            int version = version(script);
+            String texto = leer(script);
+            long checksum = checksum(texto);
+
+            Long anterior = aplicadas.get(version);
+            if (anterior != null) {
+                if (anterior != checksum) {
+                    LOG.warning("La migración " + script + " cambió después de aplicarse; no se vuelve a ejecutar.");
+                }
+                continue;
+            }
+
+            long inicio = System.nanoTime();
+            for (String sentencia : sentencias(texto)) {
+                ejecutar(st, script, sentencia);
+            }
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+
+            try (PreparedStatement ps = con.prepareStatement(INSERT_APLICADA)) {
+                ps.setInt(1, version);
+                ps.setString(2, script);
+                ps.setLong(3, checksum);
+                ps.setLong(4, ms);
+                ps.executeUpdate();
+            }
+            LOG.info("Migración aplicada: " + script + " (" + ms + " ms)");
+        }
+    }
+
+    /**
+     * Problemas del esquema que quedaron sin resolver (por ahora, claves únicas que no se
+     * pudieron crear por filas repetidas), con el detalle para corregirlos a mano.
+     */
+    static List<String> problemas() {
+        return List.copyOf(PROBLEMAS);
+    }
+
+    /**
+     * Crea las claves de CLAVES_UNICAS que falten. Antes cuenta las filas repetidas: si hay,
+     * no la crea (el ALTER fallaría y cortaría todas las conexiones) y deja un informe.
+     * Mientras tanto se asegura un índice común con esas columnas para que las consultas no
+     * recorran la tabla; cuando se corrigen los datos, la clave se crea en el próximo arranque
+     * y ese índice se borra.
+     */
+    private static void agregarClavesUnicas(Connection con, Statement st) throws SQLException {
+        Map<String, Map<String, Indice>> existentes = leerIndices(con);
+        for (String[] clave : CLAVES_UNICAS) {
+            String nombre = clave[0];
+            String tabla = clave[1];
+            List<String> columnas = List.of(clave).subList(2, clave.length);
+            Map<String, Indice> deLaTabla = existentes.getOrDefault(tabla, Map.of());
+            if (tieneIndice(deLaTabla, columnas, true)) continue;
+
+            String lista = String.join(", ", columnas);
+            String alternativo = "idx_" + nombre.substring("uk_".length());
+            List<String> repetidos = repetidos(st, tabla, lista);
+            if (!repetidos.isEmpty()) {
+                String informe = "No se pudo crear la clave única " + nombre + " en " + tabla + "(" + lista
+                        + ") porque hay filas repetidas: " + String.join("; ", repetidos)
+                        + ". Corregirlas a mano; mientras tanto la BD no impide duplicados nuevos."
+                        + " Se vuelve a intentar en cada arranque.";
+                LOG.severe(informe);
+                PROBLEMAS.add(informe);
+                if (!tieneIndice(deLaTabla, columnas, false)) {
+                    ejecutar(st, "clave " + nombre, "CREATE INDEX " + alternativo + " ON " + tabla + " (" + lista + ")");
+                }
+                continue;
+            }
+
+            try {
+                ejecutar(st, "clave " + nombre, "ALTER TABLE " + tabla + " ADD UNIQUE KEY " + nombre + " (" + lista + ")");
+            } catch (SQLException e) {
+                // ej.: otra terminal cargó un repetido entre la verificación y el ALTER
+                String informe = "No se pudo crear la clave única " + nombre + ": " + e.getMessage()
+                        + ". Se vuelve a intentar en cada arranque.";
+                LOG.severe(informe);
+                PROBLEMAS.add(informe);
+                continue;
+            }
+            LOG.info("Clave única agregada: " + nombre);
+            if (deLaTabla.containsKey(alternativo.toLowerCase(Locale.ROOT))) {
+                ejecutar(st, "clave " + nombre, "DROP INDEX " + alternativo + " ON " + tabla);
+            }
+        }
+    }
+
+    // Hasta EJEMPLOS_REPETIDOS valores repetidos, como "(v1, v2) ×3", con el total adelante
+    private static List<String> repetidos(Statement st, String tabla, String columnas) throws SQLException {
+        String grupos = "SELECT " + columnas + ", COUNT(*) AS filas FROM " + tabla +
+                " GROUP BY " + columnas + " HAVING COUNT(*) > 1";
+        int cantidad;
+        try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM (" + grupos + ") AS r")) {
+            rs.next();
+            cantidad = rs.getInt(1);
+        }
+        List<String> lista = new ArrayList<>();
+        if (cantidad == 0) return lista;
+
+        lista.add(cantidad + " valores repetidos");
+        try (ResultSet rs = st.executeQuery(grupos + " ORDER BY filas DESC LIMIT " + EJEMPLOS_REPETIDOS)) {
+            int columnasValor = rs.getMetaData().getColumnCount() - 1;
+            while (rs.next()) {
+                StringBuilder valor = new StringBuilder("(");
+                for (int i = 1; i <= columnasValor; i++) {
+                    if (i > 1) valor.append(", ");
+                    valor.append(rs.getString(i));
+                }
+                lista.add(valor.append(") ×").append(rs.getInt(columnasValor + 1)).toString());
+            }
+        }
+        return lista;
+    }
+
+    private static void ejecutar(Statement st, String script, String sentencia) throws SQLException {
+        try {
+            st.execute(sentencia);
+        } catch (SQLException e) {
+            if (e.getErrorCode() == ER_TABLA_EXISTE || e.getErrorCode() == ER_INDICE_EXISTE) {
+                LOG.fine(script + ": ya estaba hecho (" + e.getMessage() + ")");
+                return;
+            }
+            throw new SQLException("Error en la migración " + script + ":\n" + sentencia, e.getSQLState(),
+                    e.getErrorCode(), e);
+        }
+    }
+
+    /**
+     * Índices de INDICES_REQUERIDOS que no están, como "tabla(col1, col2)".
+     * Se compara por columnas y no por nombre: sirve también para bases ajustadas a mano.
+     */
+    static List<String> indicesFaltantes(Connection con) throws SQLException {
+        Map<String, Map<String, Indice>> existentes = leerIndices(con);
+        List<String> faltantes = new ArrayList<>();
+        for (String[] requerido : INDICES_REQUERIDOS) {
+            String tabla = requerido[0];
+            List<String> columnas = List.of(requerido).subList(1, requerido.length);
+            if (!tieneIndice(existentes.getOrDefault(tabla, Map.of()), columnas, false)) {
+                faltantes.add(tabla + "(" + String.join(", ", columnas) + ")");
+            }
+        }
+        return faltantes;
+    }
+
+    /** Columnas de un índice ("estado,fechavenc") y si es único. */
+    private static final class Indice {
+        final StringBuilder columnas = new StringBuilder();
+        boolean unico;
+    }
+
+    // tabla -> nombre del índice -> índice (todo en minúsculas)
+    private static Map<String, Map<String, Indice>> leerIndices(Connection con) throws SQLException {
+        Map<String, Map<String, Indice>> existentes = new HashMap<>();
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(SELECT_INDICES)) {
+            while (rs.next()) {
+                Indice indice = existentes
+                        .computeIfAbsent(rs.getString(1).toLowerCase(Locale.ROOT), t -> new HashMap<>())
+                        .computeIfAbsent(rs.getString(2).toLowerCase(Locale.ROOT), i -> new Indice());
+                if (indice.columnas.length() > 0) indice.columnas.append(',');
+                indice.columnas.append(rs.getString(3).toLowerCase(Locale.ROOT));
+                indice.unico = rs.getInt(4) == 0;
+            }
+        }
+        return existentes;
+    }
+
+    /**
+     * true si algún índice empieza con 'columnas' en ese orden. Con 'unico' tiene que ser
+     * un índice único con exactamente esas columnas (uno más largo no impide repetidos).
+     */
+    private static boolean tieneIndice(Map<String, Indice> deLaTabla, List<String> columnas, boolean unico) {
+        String buscadas = String.join(",", columnas).toLowerCase(Locale.ROOT);
+        for (Indice indice : deLaTabla.values()) {
+            String cols = indice.columnas.toString();
+            if (unico ? indice.unico && cols.equals(buscadas)
+                      : cols.equals(buscadas) || cols.startsWith(buscadas + ",")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "V002__indices.sql" -> 2
+    private static int version(String script) {
+        return Integer.parseInt(script.substring(1, script.indexOf("__")));
+    }
+
+    private static String leer(String script) throws SQLException {
+        String ruta = "sgvic/config/migraciones/" + script;
+        try (InputStream in = Migraciones.class.getClassLoader().getResourceAsStream(ruta)) {
+            if (in == null) throw new SQLException("No se encontró la migración " + ruta + " en el classpath.");
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            in.transferTo(bytes);
+            return bytes.toString(StandardCharsets.UTF_8).replace("\r\n", "\n");
+        } catch (IOException e) {
+            throw new SQLException("No se pudo leer la migración " + ruta + ".", e);
+        }
+    }
+
+    private static long checksum(String texto) {
+        CRC32 crc = new CRC32();
+        crc.update(texto.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    /**
+     * Parte el script en sentencias: sin las líneas de comentario (--) y cortando en
+     * cada ';' de fin de línea. Alcanza para los scripts de este proyecto (no hay ';'
+     * dentro de textos ni procedimientos almacenados).
+     */
+    static List<String> sentencias(String texto) {
+        List<String> lista = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        for (String linea : texto.split("\n")) {
+            String recortada = linea.trim();
+            if (recortada.isEmpty() || recortada.startsWith("--")) continue;
+            actual.append(linea).append('\n');
+            if (recortada.endsWith(";")) {
+                String sentencia = actual.toString().trim();
+                lista.add(sentencia.substring(0, sentencia.length() - 1));
+                actual.setLength(0);
+            }
+        }
+        if (actual.toString().trim().length() > 0) lista.add(actual.toString().trim());
+        return lista;
+    }
+}
@@ -0,0 +1,319 @@
+package sgvic.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool acotado de conexiones JDBC.
+ *
+ * - Como máximo 'maximo' conexiones prestadas a la vez (Semaphore justo).
+ * - Las conexiones ociosas se reutilizan en orden LIFO (la más "caliente" primero).
+ * - Se validan al prestarlas si estuvieron ociosas más de 'validarTrasMs'.
+ * - Un hilo de mantenimiento cierra las ociosas de más, las que superan la vida
+ *   máxima y repone hasta 'minimo'.
+ * - Cada conexión física tiene su propio cache de PreparedStatement (CacheSentencias).
+ *
+ * Los DAO no ven esta clase: DB.getConnection() devuelve un proxy de Connection
+ * cuyo close() devuelve la conexión física al pool en lugar de cerrarla.
+ */
+final class PoolConexiones {
+
+    private final String url;
+    private final Properties propsDriver;
+
+    private final int minimo;
+    private final int maximo;
+    private final long ociosoMaxMs;
+    private final long vidaMaxMs;
+    private final long esperaMaxMs;
+    private final long validarTrasMs;
+    private final int capacidadCache;
+
+    private final Semaphore permisos;
+    private final LinkedBlockingDeque<ConexionFisica> ociosas = new LinkedBlockingDeque<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger activas = new AtomicInteger();
+    private final ScheduledExecutorService mantenimiento;
+    private volatile boolean cerrado;
+
+    // === Métricas ===
+    private final LongAdder prestamos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder creadas = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final AtomicLong esperaMaximaNanos = new AtomicLong();
+    private final CacheSentencias.Contadores sentencias = new CacheSentencias.Contadores();
+
+    PoolConexiones(String url, Properties propsDriver, int minimo, int maximo,
+                   long ociosoMaxMs, long vidaMaxMs, long esperaMaxMs, long validarTrasMs,
+                   int capacidadCache) {
+        this.url = url;
+        this.propsDriver = propsDriver;
+        this.maximo = Math.max(1, maximo);
+        this.minimo = Math.max(0, Math.min(minimo, this.maximo));
+        this.ociosoMaxMs = ociosoMaxMs;
+        this.vidaMaxMs = vidaMaxMs;
+        this.esperaMaxMs = esperaMaxMs;
+        this.validarTrasMs = validarTrasMs;
+        this.capacidadCache = capacidadCache;
+        this.permisos = new Semaphore(this.maximo, true);
+
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sgvic-pool-mantenimiento");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodo = Math.max(1000, Math.min(30_000, ociosoMaxMs / 2));
+        mantenimiento.scheduleWithFixedDelay(this::mantener, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Presta una conexión. Bloquea hasta 'esperaMaxMs' si ya hay 'maximo' conexiones en uso.
+     */
+    Connection obtener() throws SQLException {
+        if (cerrado) throw new SQLException("El pool de conexiones está cerrado.");
+
+        long inicio = System.nanoTime();
+        try {
+            if (!permisos.tryAcquire(esperaMaxMs, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException(
+                        "No hay conexiones disponibles: se esperó " + esperaMaxMs + " ms ("
+                                + maximo + " conexiones en uso).");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido mientras se esperaba una conexión.", e);
+        }
+
+        try {
+            ConexionFisica fisica = tomarValida();
+            registrarEspera(System.nanoTime() - inicio);
+            activas.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new ConexionPrestada(fisica));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /** Abre conexiones hasta llegar a 'minimo' (se usa al arrancar para no pagar el primer handshake). */
+    void precalentar() throws SQLException {
+        while (!cerrado && total.get() < minimo) {
+            ociosas.offerLast(abrir());
+        }
+    }
+
+    EstadisticasPool estadisticas() {
+        long n = prestamos.sum();
+        double promedio = n == 0 ? 0 : esperaTotalNanos.sum() / 1_000_000.0 / n;
+        return new EstadisticasPool(
+                activas.get(), ociosas.size(), permisos.getQueueLength(), maximo,
+                n, timeouts.sum(), creadas.sum(), descartadas.sum(),
+                promedio, esperaMaximaNanos.get() / 1_000_000.0,
+                sentencias.aciertos.sum(), sentencias.fallos.sum(), sentencias.desalojos.sum());
+    }
+
+    int getMaximo() { return maximo; }
+
+    void cerrar() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        ConexionFisica f;
+        while ((f = ociosas.pollFirst()) != null) descartar(f);
+    }
+
+    // --- Internos ---
+
+    private ConexionFisica tomarValida() throws SQLException {
+        ConexionFisica f;
+        while ((f = ociosas.pollFirst()) != null) {
+            long ahora = System.currentTimeMillis();
+            if (f.vencida(ahora) || (ahora - f.ultimoUso > validarTrasMs && !f.valida())) {
+                descartar(f);
+                continue;
+            }
+            return f;
+        }
+        return abrir();
+    }
+
+    private ConexionFisica abrir() throws SQLException {
+        Connection con = DriverManager.getConnection(url, propsDriver);
+        total.incrementAndGet();
+        creadas.increment();
+        return new ConexionFisica(con);
+    }
+
+    private void devolver(ConexionFisica f) {
+        activas.decrementAndGet();
+        try {
+            if (cerrado || f.vencida(System.currentTimeMillis()) || total.get() > maximo || !f.restablecer()) {
+                descartar(f);
+            } else {
+                f.ultimoUso = System.currentTimeMillis();
+                ociosas.offerFirst(f);
+            }
+        } finally {
+            permisos.release();
+        }
+    }
+
+    private void descartar(ConexionFisica f) {
+        total.decrementAndGet();
+        descartadas.increment();
+        if (f.cache != null) f.cache.cerrarTodas();
+        try {
+            f.con.close();
+        } catch (SQLException ignored) {
+            // ya no sirve; sólo queremos liberar el socket
+        }
+    }
+
+    private void registrarEspera(long nanos) {
+        prestamos.increment();
+        esperaTotalNanos.add(nanos);
+        esperaMaximaNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /** Tarea periódica: desaloja ociosas de más o vencidas y repone hasta el mínimo. */
+    private void mantener() {
+        long ahora = System.currentTimeMillis();
+        for (ConexionFisica f : ociosas) {
+            boolean sobra = total.get() > minimo && ahora - f.ultimoUso > ociosoMaxMs;
+            if ((sobra || f.vencida(ahora)) && ociosas.remove(f)) {
+                descartar(f);
+            }
+        }
+        try {
+            precalentar();
+        } catch (SQLException e) {
+            // la BD puede no estar disponible todavía; se reintenta en la próxima pasada
+        }
+    }
+
+    /** Conexión física real + datos de control del pool. */
+    private final class ConexionFisica {
+        final Connection con;
+        final CacheSentencias cache;    // null si pool.cacheSentencias=0
+        final long creada = System.currentTimeMillis();
+        volatile long ultimoUso = creada;
+
+        ConexionFisica(Connection con) {
+            this.con = con;
+            this.cache = capacidadCache > 0 ? new CacheSentencias(con, capacidadCache, sentencias) : null;
+        }
+
+        boolean vencida(long ahora) {
+            return vidaMaxMs > 0 && ahora - creada > vidaMaxMs;
+        }
+
+        boolean valida() {
+            try {
+                return con.isValid(2);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /** Deja la conexión como recién abierta; si algo falla, no se reutiliza. */
+        boolean restablecer() {
+            try {
+                if (con.isClosed()) return false;
+                if (!con.getAutoCommit()) {
+                    con.rollback();
+                    con.setAutoCommit(true);
+                }
+                if (con.isReadOnly()) con.setReadOnly(false);
+                con.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Lo que recibe el DAO: delega todo en la conexión física salvo close(),
+     * que la devuelve al pool (un segundo close() no hace nada), y
+     * prepareStatement(sql) / prepareStatement(sql, claves), que pasan por el cache.
+     */
+    private final class ConexionPrestada implements InvocationHandler {
+        private ConexionFisica fisica;
+
+        ConexionPrestada(ConexionFisica fisica) {
+            this.fisica = fisica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (fisica != null) {
+                        ConexionFisica f = fisica;
+                        fisica = null;
+                        devolver(f);
+                    }
+                    return null;
+                case "isClosed":
+                    return fisica == null || fisica.con.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexionPrestada[" + (fisica != null ? fisica.con : "devuelta") + "]";
+                case "prepareStatement":
+                    if (fisica != null && fisica.cache != null && cacheable(method)) {
+                        int claves = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                        return fisica.cache.preparar((Connection) proxy, (String) args[0], claves);
+                    }
+                    // otras variantes (tipo de ResultSet, columnas de claves) no se cachean
+                    return delegar(method, args);
+                default:
+                    return delegar(method, args);
+            }
+        }
+
+        /** Pasa la llamada a la conexión física. */
+        private Object delegar(Method method, Object[] args) throws Throwable {
+            if (fisica == null) throw new SQLException("La conexión ya fue devuelta al pool.");
+            Object resultado;
+            try {
+                resultado = method.invoke(fisica.con, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            // sentencias fuera del cache: también se anotan al ejecutar (para cancelarlas)
+            if (resultado instanceof Statement) {
+                return SentenciasEnCurso.vigilar((Statement) resultado, method.getReturnType());
+            }
+            return resultado;
+        }
+
+        private boolean cacheable(Method method) {
+            Class<?>[] tipos = method.getParameterTypes();
+            return tipos.length == 1 || (tipos.length == 2 && tipos[1] == int.class);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package sgvic.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registro de las sentencias que cada hilo está ejecutando en este momento.
+ *
+ * Las sentencias del pool se anotan acá mientras dura un execute*, así otro hilo
+ * (típicamente el EDT, cuando el usuario aprieta "Cancelar") puede pedir
+ * Statement.cancel() sobre la consulta en curso: el driver le manda un KILL QUERY
+ * al servidor y el hilo que esperaba recibe una SQLException.
+ */
+final class SentenciasEnCurso {
+
+    private static final Logger LOG = Logger.getLogger("sgvic.sql");
+
+    private static final Map<Thread, Set<Statement>> POR_HILO = new ConcurrentHashMap<>();
+
+    private SentenciasEnCurso() { }
+
+    /** true si 'method' es alguno de los execute / executeQuery / executeUpdate / executeBatch... */
+    static boolean esEjecucion(Method method) {
+        return method.getName().startsWith("execute");
+    }
+
+    /** Invoca 'method' sobre 'real' dejando la sentencia anotada mientras se ejecuta. */
+    static Object ejecutar(Statement real, Method method, Object[] args) throws Throwable {
+        Thread hilo = Thread.currentThread();
+        Set<Statement> propias = POR_HILO.computeIfAbsent(hilo, h -> ConcurrentHashMap.newKeySet());
+        propias.add(real);
+        try {
+            return method.invoke(real, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            propias.remove(real);
+            if (propias.isEmpty()) POR_HILO.remove(hilo, propias);
+        }
+    }
+
+    /**
+     * Envuelve una sentencia que no pasa por el cache (createStatement, prepareCall,
+     * variantes no cacheables de prepareStatement) para que también quede anotada.
+     */
+    static Statement vigilar(Statement real, Class<?> tipo) {
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{tipo},
+                (proxy, method, args) -> {
+                    if (esEjecucion(method)) return ejecutar(real, method, args);
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            try {
+                                return method.invoke(real, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+
+    /** Cancela las consultas que 'hilo' tiene en curso; devuelve cuántas. */
+    static int cancelar(Thread hilo) {
+        Set<Statement> propias = POR_HILO.get(hilo);
+        if (propias == null) return 0;
+        int canceladas = 0;
+        for (Statement st : propias) {
+            try {
+                st.cancel();
+                canceladas++;
+            } catch (SQLException e) {
+                LOG.log(Level.FINE, "No se pudo cancelar la consulta de " + hilo.getName(), e);
+            }
+        }
+        if (canceladas > 0) LOG.fine("Consultas canceladas en " + hilo.getName() + ": " + canceladas);
+        return canceladas;
+    }
+}
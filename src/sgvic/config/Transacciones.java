@@ -0,0 +1,211 @@
+package sgvic.config;
+
+import sgvic.excepciones.DataAccessException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Transacciones que abarcan varias llamadas a DAO (unidad de trabajo).
+ *
+ * Mientras corre enTransaccion / enLectura, la conexión queda ligada al hilo actual y
+ * DB.getConnection() devuelve siempre esa misma conexión (su close() no hace nada).
+ * Los DAO no cambian: siguen con su try-with-resources, pero todo va en una conexión
+ * y un solo commit al final.
+ *
+ * <pre>
+ *   Transacciones.enTransaccion(() -> {
+ *       clienteDAO.guardar(c);
+ *       obligacionDAO.guardarTodos(obligaciones);
+ *       return null;
+ *   });
+ * </pre>
+ * Una llamada anidada se suma a la transacción de afuera. Si el trabajo anidado falla,
+ * la de afuera ya no puede confirmarse (aunque alguien atrape la excepción).
+ */
+public final class Transacciones {
+
+    private static final Logger LOG = Logger.getLogger("sgvic.sql");
+
+    /** Lo que se ejecuta dentro de la transacción. */
+    @FunctionalInterface
+    public interface Trabajo<T> {
+        T ejecutar() throws DataAccessException;
+    }
+
+    private static final ThreadLocal<EnCurso> ACTUAL = new ThreadLocal<>();
+
+    private static volatile long lentaNanos = DB.propiedadEntera("transaccion.lentaMs", 1000) * 1_000_000L;
+
+    // === Métricas ===
+    private static final LongAdder confirmadas = new LongAdder();
+    private static final LongAdder revertidas = new LongAdder();
+    private static final LongAdder nanosTotales = new LongAdder();
+    private static final AtomicLong nanosMaximo = new AtomicLong();
+
+    private Transacciones() { }
+
+    /** Ejecuta 'trabajo' en una transacción (commit al terminar, rollback si falla). */
+    public static <T> T enTransaccion(Trabajo<T> trabajo) throws DataAccessException {
+        return ejecutar(trabajo, false);
+    }
+
+    /**
+     * Igual que enTransaccion, pero marcada como de sólo lectura: todas las consultas
+     * ven la misma foto de los datos y el servidor no prepara nada para escrituras.
+     */
+    public static <T> T enLectura(Trabajo<T> trabajo) throws DataAccessException {
+        return ejecutar(trabajo, true);
+    }
+
+    /** true si el hilo actual está dentro de una transacción de esta clase. */
+    public static boolean activa() {
+        return ACTUAL.get() != null;
+    }
+
+    /**
+     * Ejecuta 'accion' cuando se confirme la transacción en curso (si se revierte, no).
+     * Fuera de una transacción se ejecuta enseguida.
+     */
+    public static void alConfirmar(Runnable accion) {
+        EnCurso tx = ACTUAL.get();
+        if (tx == null) accion.run();
+        else tx.alConfirmar.add(accion);
+    }
+
+    public static void setUmbralLentaMs(long ms) { lentaNanos = ms * 1_000_000L; }
+
+    /** Resumen de las transacciones terminadas desde el arranque. */
+    public static String estadisticas() {
+        long total = confirmadas.sum() + revertidas.sum();
+        return String.format("Transacciones{confirmadas=%d, revertidas=%d, promedio=%.1f ms, maxima=%.1f ms}",
+                confirmadas.sum(), revertidas.sum(),
+                total == 0 ? 0.0 : nanosTotales.sum() / 1e6 / total, nanosMaximo.get() / 1e6);
+    }
+
+    /** Conexión ligada al hilo (la que DB.getConnection debe devolver) o null. */
+    static Connection conexionEnCurso() {
+        EnCurso tx = ACTUAL.get();
+        return tx != null ? tx.vista : null;
+    }
+
+    private static <T> T ejecutar(Trabajo<T> trabajo, boolean soloLectura) throws DataAccessException {
+        EnCurso actual = ACTUAL.get();
+        if (actual != null) return anidada(actual, trabajo, soloLectura);
+
+        long inicio = System.nanoTime();
+        Connection con;
+        try {
+            con = DB.getConnection();
+        } catch (SQLException e) {
+            throw new DataAccessException("No se pudo obtener una conexión para la transacción.", e);
+        }
+
+        EnCurso tx = new EnCurso(con, soloLectura);
+        boolean confirmada = false;
+        try {
+            con.setAutoCommit(false);
+            if (soloLectura) con.setReadOnly(true);
+            ACTUAL.set(tx);
+
+            T resultado = trabajo.ejecutar();
+            if (tx.soloRollback) {
+                throw new DataAccessException("La transacción se deshizo porque falló una operación interna.");
+            }
+            con.commit();
+            confirmada = true;
+            return resultado;
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al confirmar la transacción.", e);
+        } finally {
+            ACTUAL.remove();
+            if (!confirmada) deshacer(con);
+            try {
+                con.close();   // vuelve al pool (que restablece autocommit y readOnly)
+            } catch (SQLException e) {
+                LOG.log(Level.FINE, "Error al devolver la conexión de la transacción", e);
+            }
+            registrar(confirmada, System.nanoTime() - inicio);
+            if (confirmada) {
+                for (Runnable accion : tx.alConfirmar) accion.run();
+            }
+        }
+    }
+
+    private static <T> T anidada(EnCurso tx, Trabajo<T> trabajo, boolean soloLectura) throws DataAccessException {
+        if (tx.soloLectura && !soloLectura) {
+            throw new IllegalStateException("No se puede abrir una transacción de escritura dentro de una de sólo lectura.");
+        }
+        try {
+            return trabajo.ejecutar();
+        } catch (DataAccessException | RuntimeException e) {
+            tx.soloRollback = true;
+            throw e;
+        }
+    }
+
+    private static void deshacer(Connection con) {
+        try {
+            con.rollback();
+        } catch (SQLException e) {
+            LOG.log(Level.FINE, "Error al deshacer la transacción", e);
+        }
+    }
+
+    private static void registrar(boolean confirmada, long nanos) {
+        (confirmada ? confirmadas : revertidas).increment();
+        nanosTotales.add(nanos);
+        nanosMaximo.accumulateAndGet(nanos, Math::max);
+        if (nanos >= lentaNanos) {
+            LOG.warning(String.format("Transacción lenta (%.1f ms, %s)", nanos / 1e6,
+                    confirmada ? "confirmada" : "revertida"));
+        }
+    }
+
+    /** Estado de la transacción ligada a un hilo. */
+    private static final class EnCurso {
+        final Connection vista;
+        final boolean soloLectura;
+        final List<Runnable> alConfirmar = new ArrayList<>(0);
+        boolean soloRollback;
+
+        EnCurso(Connection con, boolean soloLectura) {
+            this.soloLectura = soloLectura;
+            this.vista = sinCierre(con);
+        }
+    }
+
+    // La conexión que ven los DAO: close() no hace nada (la cierra ejecutar al terminar)
+    private static Connection sinCierre(Connection con) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            return null;
+                        case "isClosed":
+                            return con.isClosed();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            try {
+                                return method.invoke(con, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+}
@@ -0,0 +1,331 @@
+package sgvic.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Traza de JDBC: mide cada sentencia (SQL, cantidad de parámetros, filas y tiempo),
+ * registra las lentas y detecta patrones N+1 dentro de una operación de servicio.
+ *
+ * Uso en los servicios:
+ * <pre>
+ *   &#64;SuppressWarnings("try")
+ *   public ... generarPendientes(...) {
+ *       try (Traza.Ambito t = Traza.abrir("AlertaService.generarPendientes")) {
+ *           ...llamadas a DAO...
+ *       }
+ *   }
+ * </pre>
+ * Con traza.habilitada=false (por defecto) DB.getConnection() no envuelve nada
+ * y abrir() devuelve un ámbito vacío, así que el costo es un if.
+ */
+public final class Traza {
+
+    private static final Logger LOG = Logger.getLogger("sgvic.sql");
+    private static final String SIN_SERVICIO = "(sin servicio)";
+
+    private static volatile boolean habilitada = DB.propiedadBooleana("traza.habilitada", false);
+    private static volatile long lentaNanos = DB.propiedadEntera("traza.lentaMs", 200) * 1_000_000L;
+    private static volatile int umbralNMasUno = DB.propiedadEntera("traza.nMasUnoUmbral", 20);
+
+    private static final ThreadLocal<Ambito> ACTUAL = new ThreadLocal<>();
+    private static final Map<String, Totales> TOTALES = new ConcurrentHashMap<>();
+    private static final Ambito VACIO = new Ambito(null);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (habilitada && !TOTALES.isEmpty()) LOG.info(reporte());
+        }, "sgvic-traza-reporte"));
+    }
+
+    private Traza() { }
+
+    // === Configuración en caliente ===
+    public static boolean isHabilitada() { return habilitada; }
+    public static void setHabilitada(boolean valor) { habilitada = valor; }
+    public static void setUmbralLentaMs(long ms) { lentaNanos = ms * 1_000_000L; }
+    public static void setUmbralNMasUno(int veces) { umbralNMasUno = veces; }
+
+    /**
+     * Abre el ámbito de una operación de servicio en el hilo actual.
+     * Si ya hay uno abierto (servicio que llama a otro) se acumula en el de afuera.
+     */
+    public static Ambito abrir(String operacion) {
+        if (!habilitada || ACTUAL.get() != null) return VACIO;
+        Ambito a = new Ambito(operacion);
+        ACTUAL.set(a);
+        return a;
+    }
+
+    /** Totales acumulados por operación de servicio (copia). */
+    public static Map<String, Totales> totales() {
+        return new TreeMap<>(TOTALES);
+    }
+
+    public static void reiniciar() {
+        TOTALES.clear();
+    }
+
+    /** Tabla de texto con los totales por operación, ordenada por nombre. */
+    public static String reporte() {
+        StringBuilder sb = new StringBuilder("Traza SQL por operación:\n");
+        sb.append(String.format("%-45s %8s %10s %10s %12s %12s%n",
+                "operación", "llamadas", "sentencias", "filas", "sql(ms)", "total(ms)"));
+        totales().forEach((op, t) -> sb.append(String.format("%-45s %8d %10d %10d %12.1f %12.1f%n",
+                op, t.llamadas.sum(), t.sentencias.sum(), t.filas.sum(),
+                t.nanosSql.sum() / 1e6, t.nanosTotal.sum() / 1e6)));
+        return sb.toString();
+    }
+
+    /** Envuelve una conexión para medir las sentencias que se preparen con ella. */
+    static Connection envolver(Connection con) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConexionTrazada(con));
+    }
+
+    // --- Registro de una ejecución ---
+
+    private static void registrar(String sql, int parametros, long filas, long nanos) {
+        Ambito a = ACTUAL.get();
+        String operacion = a != null ? a.operacion : SIN_SERVICIO;
+
+        if (nanos >= lentaNanos) {
+            LOG.warning(String.format("Consulta lenta (%.1f ms, %d parámetros, %d filas) en %s: %s",
+                    nanos / 1e6, parametros, filas, operacion, sql));
+        } else if (LOG.isLoggable(Level.FINE)) {
+            LOG.fine(String.format("%.3f ms, %d parámetros, %d filas: %s", nanos / 1e6, parametros, filas, sql));
+        }
+
+        if (a != null) {
+            a.sentencias++;
+            a.filas += filas;
+            a.nanosSql += nanos;
+            int veces = a.ejecuciones.merge(sql, 1, Integer::sum);
+            if (veces == umbralNMasUno) {
+                LOG.warning("Posible N+1 en " + operacion + ": la misma sentencia se ejecutó "
+                        + veces + " veces (o más): " + sql);
+            }
+        } else {
+            Totales t = TOTALES.computeIfAbsent(SIN_SERVICIO, k -> new Totales());
+            t.sentencias.increment();
+            t.filas.add(filas);
+            t.nanosSql.add(nanos);
+        }
+    }
+
+    /**
+     * Ámbito de una operación de servicio; se cierra con try-with-resources. La variable
+     * no se usa dentro del bloque: el método que lo abre lleva @SuppressWarnings("try").
+     */
+    public static final class Ambito implements AutoCloseable {
+        private final String operacion;
+        private final long inicio = System.nanoTime();
+        private final Map<String, Integer> ejecuciones = new HashMap<>();
+        private long sentencias;
+        private long filas;
+        private long nanosSql;
+
+        private Ambito(String operacion) {
+            this.operacion = operacion;
+        }
+
+        @Override
+        public void close() {
+            if (operacion == null) return;
+            ACTUAL.remove();
+            Totales t = TOTALES.computeIfAbsent(operacion, k -> new Totales());
+            t.llamadas.increment();
+            t.sentencias.add(sentencias);
+            t.filas.add(filas);
+            t.nanosSql.add(nanosSql);
+            t.nanosTotal.add(System.nanoTime() - inicio);
+        }
+    }
+
+    /** Totales de una operación de servicio. */
+    public static final class Totales {
+        private final LongAdder llamadas = new LongAdder();
+        private final LongAdder sentencias = new LongAdder();
+        private final LongAdder filas = new LongAdder();
+        private final LongAdder nanosSql = new LongAdder();
+        private final LongAdder nanosTotal = new LongAdder();
+
+        public long getLlamadas() { return llamadas.sum(); }
+        public long getSentencias() { return sentencias.sum(); }
+        public long getFilas() { return filas.sum(); }
+        public double getMsSql() { return nanosSql.sum() / 1e6; }
+        public double getMsTotal() { return nanosTotal.sum() / 1e6; }
+    }
+
+    // --- Proxies ---
+
+    private static Object delegar(Object destino, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConexionTrazada implements InvocationHandler {
+        private final Connection con;
+
+        ConexionTrazada(Connection con) {
+            this.con = con;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object r = delegar(con, method, args);
+            if ("prepareStatement".equals(method.getName())) {
+                return Proxy.newProxyInstance(
+                        PreparedStatement.class.getClassLoader(),
+                        new Class<?>[]{PreparedStatement.class},
+                        new SentenciaTrazada((PreparedStatement) r, (String) args[0], (Connection) proxy));
+            }
+            return r;
+        }
+    }
+
+    private static final class SentenciaTrazada implements InvocationHandler {
+        private final PreparedStatement ps;
+        private final String sql;
+        private final Connection conexion;
+        private int parametros;
+        private Medicion pendiente;   // executeQuery cuyo ResultSet todavía no se cerró
+
+        SentenciaTrazada(PreparedStatement ps, String sql, Connection conexion) {
+            this.ps = ps;
+            this.sql = sql;
+            this.conexion = conexion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String nombre = method.getName();
+            if (nombre.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parametros = Math.max(parametros, (Integer) args[0]);
+                return delegar(ps, method, args);
+            }
+            switch (nombre) {
+                case "executeQuery": {
+                    cerrarPendiente();
+                    long t0 = System.nanoTime();
+                    ResultSet rs = (ResultSet) delegar(ps, method, args);
+                    pendiente = new Medicion(sql, parametros, System.nanoTime() - t0);
+                    return Proxy.newProxyInstance(
+                            ResultSet.class.getClassLoader(),
+                            new Class<?>[]{ResultSet.class},
+                            new ResultadoTrazado(rs, pendiente, (Statement) proxy));
+                }
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "execute":
+                case "executeBatch":
+                case "executeLargeBatch": {
+                    cerrarPendiente();
+                    long t0 = System.nanoTime();
+                    Object r = delegar(ps, method, args);
+                    registrar(sql, parametros, filasAfectadas(r), System.nanoTime() - t0);
+                    return r;
+                }
+                case "close":
+                    cerrarPendiente();
+                    return delegar(ps, method, args);
+                case "getConnection":
+                    return conexion;
+                default:
+                    return delegar(ps, method, args);
+            }
+        }
+
+        private void cerrarPendiente() {
+            if (pendiente != null) {
+                pendiente.terminar();
+                pendiente = null;
+            }
+        }
+
+        private static long filasAfectadas(Object r) {
+            if (r instanceof Integer) return (Integer) r;
+            if (r instanceof Long) return (Long) r;
+            if (r instanceof int[]) {
+                long n = 0;
+                for (int x : (int[]) r) if (x > 0) n += x;
+                return n;
+            }
+            if (r instanceof long[]) {
+                long n = 0;
+                for (long x : (long[]) r) if (x > 0) n += x;
+                return n;
+            }
+            return 0;
+        }
+    }
+
+    /** Ejecución de consulta que se registra al cerrar su ResultSet (ya con las filas contadas). */
+    private static final class Medicion {
+        final String sql;
+        final int parametros;
+        final long nanos;
+        long filas;
+        boolean registrada;
+
+        Medicion(String sql, int parametros, long nanos) {
+            this.sql = sql;
+            this.parametros = parametros;
+            this.nanos = nanos;
+        }
+
+        void terminar() {
+            if (registrada) return;
+            registrada = true;
+            registrar(sql, parametros, filas, nanos);
+        }
+    }
+
+    private static final class ResultadoTrazado implements InvocationHandler {
+        private final ResultSet rs;
+        private final Medicion medicion;
+        private final Statement sentencia;
+
+        ResultadoTrazado(ResultSet rs, Medicion medicion, Statement sentencia) {
+            this.rs = rs;
+            this.medicion = medicion;
+            this.sentencia = sentencia;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next": {
+                    boolean hay = (Boolean) delegar(rs, method, args);
+                    if (hay) medicion.filas++;
+                    return hay;
+                }
+                case "close":
+                    medicion.terminar();
+                    return delegar(rs, method, args);
+                case "getStatement":
+                    return sentencia;
+                default:
+                    return delegar(rs, method, args);
+            }
+        }
+    }
+}
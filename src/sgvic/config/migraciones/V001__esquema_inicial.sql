@@ -0,0 +1,76 @@
+-- Esquema base de SGVIC (MySQL 8, InnoDB, utf8mb4).
+-- IF NOT EXISTS: sobre una base creada a mano antes de las migraciones no cambia nada.
+-- Las claves únicas de esa base (que pueden faltar) las agrega Migraciones después,
+-- verificando antes que no haya filas repetidas.
+
+CREATE TABLE IF NOT EXISTS cliente (
+    idCliente     INT           NOT NULL AUTO_INCREMENT,
+    razon_social  VARCHAR(150)  NOT NULL,
+    cuit          VARCHAR(20)   NOT NULL,
+    email         VARCHAR(120)  NULL,
+    telefono      VARCHAR(40)   NULL,
+    direccion     VARCHAR(200)  NULL,
+    PRIMARY KEY (idCliente),
+    UNIQUE KEY uk_cliente_cuit (cuit)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS tipoobligacion (
+    idTipo        INT           NOT NULL AUTO_INCREMENT,
+    codigo        VARCHAR(10)   NOT NULL,
+    descripcion   VARCHAR(150)  NOT NULL,
+    periodicidad  ENUM('Mensual','Anual','Otra') NOT NULL DEFAULT 'Mensual',
+    PRIMARY KEY (idTipo),
+    UNIQUE KEY uk_tipo_codigo (codigo)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Tipos iniciales, sólo si la tabla está vacía (una base adoptada conserva los suyos).
+-- La tabla derivada con LIMIT se materializa antes del INSERT: MySQL no deja leer en una
+-- subconsulta la misma tabla en la que se inserta.
+INSERT INTO tipoobligacion (codigo, descripcion, periodicidad)
+SELECT s.codigo, s.descripcion, s.periodicidad FROM (
+    SELECT 'IVA' AS codigo, 'Impuesto al Valor Agregado' AS descripcion, 'Mensual' AS periodicidad
+    UNION ALL SELECT 'GAN',  'Impuesto a las Ganancias',  'Anual'
+    UNION ALL SELECT 'MON',  'Monotributo',               'Mensual'
+    UNION ALL SELECT 'SIC',  'Seguridad social (F.931)',  'Mensual'
+    UNION ALL SELECT 'IIBB', 'Ingresos Brutos',           'Mensual'
+) AS s
+WHERE NOT EXISTS (SELECT 1 FROM (SELECT idTipo FROM tipoobligacion LIMIT 1) AS hay);
+
+CREATE TABLE IF NOT EXISTS obligacion (
+    idObligacion  INT           NOT NULL AUTO_INCREMENT,
+    idCliente     INT           NOT NULL,
+    idTipo        INT           NOT NULL,
+    periodo       CHAR(7)       NOT NULL,
+    fechaVenc     DATE          NOT NULL,
+    monto         DECIMAL(15,2) NOT NULL,
+    estado        ENUM('Pendiente','Vencida','Pagada') NOT NULL DEFAULT 'Pendiente',
+    PRIMARY KEY (idObligacion),
+    UNIQUE KEY uk_obligacion_cliente_tipo_periodo (idCliente, idTipo, periodo),
+    KEY idx_obligacion_cliente (idCliente),
+    KEY idx_obligacion_tipo (idTipo),
+    CONSTRAINT fk_obligacion_cliente FOREIGN KEY (idCliente) REFERENCES cliente (idCliente),
+    CONSTRAINT fk_obligacion_tipo FOREIGN KEY (idTipo) REFERENCES tipoobligacion (idTipo)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS pago (
+    idPago        INT           NOT NULL AUTO_INCREMENT,
+    idObligacion  INT           NOT NULL,
+    fecha         DATE          NOT NULL,
+    medio         VARCHAR(60)   NOT NULL,
+    monto         DECIMAL(15,2) NOT NULL,
+    PRIMARY KEY (idPago),
+    UNIQUE KEY uk_pago_obligacion (idObligacion),
+    CONSTRAINT fk_pago_obligacion FOREIGN KEY (idObligacion) REFERENCES obligacion (idObligacion)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Las alertas se derivan de la obligación: si se borra la obligación, se borran con ella
+CREATE TABLE IF NOT EXISTS alerta (
+    idAlerta      INT           NOT NULL AUTO_INCREMENT,
+    idObligacion  INT           NOT NULL,
+    fecha         DATE          NOT NULL,
+    leida         TINYINT(1)    NOT NULL DEFAULT 0,
+    PRIMARY KEY (idAlerta),
+    UNIQUE KEY uk_alerta_obligacion_fecha (idObligacion, fecha),
+    CONSTRAINT fk_alerta_obligacion FOREIGN KEY (idObligacion) REFERENCES obligacion (idObligacion)
+        ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
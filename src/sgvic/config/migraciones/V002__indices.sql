@@ -0,0 +1,19 @@
+-- Índices de apoyo para las consultas de los DAO (antes en sql/indices.sql).
+-- Si un índice ya existe con el mismo nombre (base ajustada a mano), Migraciones lo saltea.
+
+-- Las claves únicas (cliente.cuit, obligacion por cliente/tipo/período, pago por obligación,
+-- alerta por obligación y día) están en V001 para instalaciones nuevas; en bases adoptadas
+-- las agrega Migraciones.CLAVES_UNICAS sólo si no hay filas repetidas (nunca borra datos).
+
+-- Candidatas a alerta (ObligacionDAO.listarPendientesHasta / recorrerPendientesHasta,
+-- AlertaDAO.generarDelDia): WHERE estado IN ('Pendiente','Vencida') AND fechaVenc <= ?
+-- Con estado primero, el historial de obligaciones pagadas queda fuera del rango leído.
+CREATE INDEX idx_obligacion_estado_venc ON obligacion (estado, fechaVenc);
+
+-- ObligacionDAO.listarPaginaPorVencimiento: ORDER BY fechaVenc, idObligacion con keyset.
+-- InnoDB agrega la PK al final del índice, así que el orden sale del índice sin ordenar.
+CREATE INDEX idx_obligacion_venc ON obligacion (fechaVenc);
+
+-- Alertas no leídas por fecha (AlertaDAO.listarPendientes / listarPendientesPagina).
+-- Con la PK al final cubre el orden (fecha, idAlerta).
+CREATE INDEX idx_alerta_leida_fecha ON alerta (leida, fecha);
@@ -0,0 +1,37 @@
+-- Resumen de deuda por cliente (modelo de lectura que mantiene ResumenClienteDAO).
+-- Se actualiza en la misma transacción que cada escritura de obligaciones y pagos.
+--   abiertas:       obligaciones no pagadas (Pendiente o Vencida)
+--   vencidas:       de esas, las marcadas Vencida o con vencimiento anterior a hoy
+--   totalPendiente: suma de montos no pagados
+--   proximoVenc:    próximo vencimiento todavía no pasado (NULL si no hay). Cuando esa
+--                   fecha pasa, 'vencidas' quedó vieja y la fila se recalcula al leerla.
+CREATE TABLE IF NOT EXISTS cliente_resumen (
+    idCliente       INT           NOT NULL,
+    abiertas        INT           NOT NULL DEFAULT 0,
+    vencidas        INT           NOT NULL DEFAULT 0,
+    totalPendiente  DECIMAL(15,2) NOT NULL DEFAULT 0,
+    proximoVenc     DATE          NULL,
+    actualizado     TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (idCliente),
+    KEY idx_resumen_proximo_venc (proximoVenc),
+    CONSTRAINT fk_resumen_cliente FOREIGN KEY (idCliente) REFERENCES cliente (idCliente)
+        ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- El recálculo de un cliente sale entero de este índice (sin leer las filas de obligacion)
+CREATE INDEX idx_obligacion_cliente_resumen ON obligacion (idCliente, estado, fechaVenc, monto);
+
+-- Carga inicial (lo mismo que ResumenClienteDAO.reconstruir)
+INSERT INTO cliente_resumen (idCliente, abiertas, vencidas, totalPendiente, proximoVenc)
+SELECT * FROM (
+    SELECT c.idCliente,
+           COUNT(o.idObligacion) AS abiertas,
+           COALESCE(SUM(o.estado = 'Vencida' OR o.fechaVenc < CURDATE()), 0) AS vencidas,
+           COALESCE(SUM(o.monto), 0) AS totalPendiente,
+           MIN(CASE WHEN o.estado = 'Pendiente' AND o.fechaVenc >= CURDATE() THEN o.fechaVenc END) AS proximoVenc
+    FROM cliente c
+    LEFT JOIN obligacion o ON o.idCliente = c.idCliente AND o.estado IN ('Pendiente','Vencida')
+    GROUP BY c.idCliente
+) AS r
+ON DUPLICATE KEY UPDATE abiertas = r.abiertas, vencidas = r.vencidas,
+                        totalPendiente = r.totalPendiente, proximoVenc = r.proximoVenc;
@@ -0,0 +1,4 @@
+-- Búsqueda por período en la BD (ObligacionDAO.listarPorPeriodo: WHERE periodo=?
+-- ORDER BY idObligacion). La clave única (idCliente, idTipo, periodo) no sirve porque
+-- periodo no va primero; con la PK al final del índice, el orden también sale de acá.
+CREATE INDEX idx_obligacion_periodo ON obligacion (periodo);
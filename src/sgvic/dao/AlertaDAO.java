@@ -2,6 +2,7 @@ package sgvic.dao;
 
 import sgvic.config.DB;
 import sgvic.entidades.Alerta;
+import sgvic.entidades.Obligacion;
 import sgvic.excepciones.DataAccessException;
 
 import java.sql.*;
@@ -17,8 +18,23 @@ public class AlertaDAO {
     private static final String INSERT =
             "INSERT INTO alerta (idObligacion, fecha, leida) VALUES (?,?,?)";
 
+    // Alertas con su obligación, cliente y tipo en una sola consulta
+    private static final String SELECT_CON_OBLIGACION =
+            "SELECT a.idAlerta, a.fecha, a.leida, " + ObligacionDAO.COLUMNAS_SQL +
+            "FROM alerta a " +
+            "JOIN obligacion o ON o.idObligacion = a.idObligacion " +
+            ObligacionDAO.JOINS_SQL;
+
+    // No leídas por (fecha, idAlerta): índice (leida, fecha, idAlerta) de la migración V002
     private static final String SELECT_PENDIENTES =
-            "SELECT idAlerta, idObligacion, fecha, leida FROM alerta WHERE leida=0 ORDER BY fecha ASC";
+            SELECT_CON_OBLIGACION + "WHERE a.leida=0 ORDER BY a.fecha, a.idAlerta";
+
+    // Paginación por clave (fecha, idAlerta), igual que las obligaciones por vencimiento
+    private static final String SELECT_PENDIENTES_PRIMERA =
+            SELECT_CON_OBLIGACION + "WHERE a.leida=0 ORDER BY a.fecha, a.idAlerta LIMIT ?";
+    private static final String SELECT_PENDIENTES_PAGINA =
+            SELECT_CON_OBLIGACION + "WHERE a.leida=0 AND (a.fecha > ? OR (a.fecha = ? AND a.idAlerta > ?))" +
+            " ORDER BY a.fecha, a.idAlerta LIMIT ?";
 
     private static final String UPDATE_MARCAR_LEIDA =
             "UPDATE alerta SET leida=1 WHERE idAlerta=?";
@@ -26,12 +42,37 @@ public class AlertaDAO {
     private static final String EXISTS_POR_OBL_FECHA =
             "SELECT 1 FROM alerta WHERE idObligacion=? AND fecha=? LIMIT 1";
 
+    // Generación del día en una sola sentencia: una alerta por obligación no pagada que vence
+    // hasta el límite y todavía no la tiene. La UK (idObligacion, fecha) impide duplicados si
+    // dos terminales generan a la vez: ON DUPLICATE KEY deja esa fila como estaba (a
+    // diferencia de IGNORE, no se traga otros errores como FK o datos inválidos).
+    private static final String INSERT_DEL_DIA =
+            "INSERT INTO alerta (idObligacion, fecha, leida) " +
+            "SELECT o.idObligacion, ?, 0 FROM obligacion o " +
+            "WHERE o.estado IN ('Pendiente','Vencida') AND o.fechaVenc <= ? " +
+            "  AND NOT EXISTS (SELECT 1 FROM alerta a WHERE a.idObligacion = o.idObligacion AND a.fecha = ?) " +
+            "ON DUPLICATE KEY UPDATE idAlerta = idAlerta";
+
+    private static final String SELECT_MAX_ID =
+            "SELECT COALESCE(MAX(idAlerta), 0) FROM alerta";
+
+    // Las recién creadas, con su obligación (cliente y tipo) en la misma consulta
+    private static final String SELECT_NUEVAS =
+            SELECT_CON_OBLIGACION + "WHERE a.idAlerta > ? AND a.fecha = ? ORDER BY a.idAlerta";
+
+    private static final MapeadorFila<Alerta> MAPEADOR = new MapeadorFila<>((rs, col) -> {
+        Alerta a = new Alerta();
+        a.setIdAlerta(rs.getInt(col[0]));
+        a.setObligacion(null);
+        a.setFecha(rs.getDate(col[1]).toLocalDate());
+        a.setLeida(rs.getBoolean(col[2]));
+        return a;
+    }, "idAlerta", "fecha", "leida");
+
     public void guardar(Alerta a) throws DataAccessException {
         try (Connection con = DB.getConnection();
              PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setInt(1, a.getObligacion().getIdObligacion());
-            ps.setDate(2, Date.valueOf(a.getFecha()));
-            ps.setBoolean(3, a.isLeida());
+            vincular(ps, a);
             ps.executeUpdate();
 
             try (ResultSet rs = ps.getGeneratedKeys()) {
@@ -42,26 +83,117 @@ public class AlertaDAO {
         }
     }
 
+    /** Guarda varias alertas en una sola transacción (INSERT multi-fila por lotes). */
+    public void guardarTodos(List<Alerta> alertas) throws DataAccessException {
+        try (Connection con = DB.getConnection()) {
+            Lotes.enTransaccion(con, () -> Lotes.insertar(con, INSERT, alertas, this::vincular, Alerta::setIdAlerta));
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al guardar alertas en lote.", e);
+        }
+    }
+
+    /**
+     * Crea, en una transacción y sin traer las obligaciones a Java, las alertas con fecha
+     * 'fecha' de todas las obligaciones no pagadas que vencen hasta 'limite' (incluye las
+     * vencidas) y que no tengan ya alerta ese día. Devuelve las creadas, en orden de alta,
+     * con su obligación cargada.
+     *
+     * Las creadas se releen como "idAlerta mayor que el máximo de antes, con esa fecha".
+     * Eso es correcto sólo en REPEATABLE READ: la foto de la transacción se toma con el
+     * SELECT del máximo y no ve lo que otra terminal confirme después. Por eso la
+     * transacción se abre en ese nivel, sea cual sea el del servidor (si ya había una
+     * transacción abierta, rige el nivel de quien la abrió).
+     */
+    public List<Alerta> generarDelDia(LocalDate fecha, LocalDate limite) throws DataAccessException {
+        List<Alerta> nuevas = new ArrayList<>();
+        try (Connection con = DB.getConnection()) {
+            int nivelAnterior = con.getTransactionIsolation();
+            boolean cambiarNivel = con.getAutoCommit() && nivelAnterior != Connection.TRANSACTION_REPEATABLE_READ;
+            if (cambiarNivel) con.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try {
+                generarDelDia(con, fecha, limite, nuevas);
+            } finally {
+                if (cambiarNivel) con.setTransactionIsolation(nivelAnterior);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al generar alertas del día.", e);
+        }
+        return nuevas;
+    }
+
+    private void generarDelDia(Connection con, LocalDate fecha, LocalDate limite, List<Alerta> nuevas)
+            throws SQLException {
+        Lotes.enTransaccion(con, () -> {
+            int ultimaAntes;
+            try (PreparedStatement ps = con.prepareStatement(SELECT_MAX_ID);
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                ultimaAntes = rs.getInt(1);
+            }
+
+            // Con ON DUPLICATE KEY el driver cuenta también las filas que ya estaban: 0 = ninguna
+            int afectadas;
+            try (PreparedStatement ps = con.prepareStatement(INSERT_DEL_DIA)) {
+                ps.setDate(1, Date.valueOf(fecha));
+                ps.setDate(2, Date.valueOf(limite));
+                ps.setDate(3, Date.valueOf(fecha));
+                afectadas = ps.executeUpdate();
+            }
+            if (afectadas == 0) return;
+
+            try (PreparedStatement ps = con.prepareStatement(SELECT_NUEVAS)) {
+                ps.setInt(1, ultimaAntes);
+                ps.setDate(2, Date.valueOf(fecha));
+                try (ResultSet rs = ps.executeQuery()) {
+                    leerConObligacion(rs, nuevas);
+                }
+            }
+        });
+    }
+
+    /** Todas las alertas no leídas, por fecha, con su obligación (cliente y tipo) cargada. */
     public List<Alerta> listarPendientes() throws DataAccessException {
         List<Alerta> lista = new ArrayList<>();
         try (Connection con = DB.getConnection();
              PreparedStatement ps = con.prepareStatement(SELECT_PENDIENTES);
              ResultSet rs = ps.executeQuery()) {
 
-            while (rs.next()) {
-                Alerta a = new Alerta();
-                a.setIdAlerta(rs.getInt("idAlerta"));
-                a.setObligacion(null);
-                a.setFecha(rs.getDate("fecha").toLocalDate());
-                a.setLeida(rs.getBoolean("leida"));
-                lista.add(a);
-            }
+            leerConObligacion(rs, lista);
+
         } catch (SQLException e) {
             throw new DataAccessException("Error al listar alertas pendientes.", e);
         }
         return lista;
     }
 
+    /**
+     * Página de alertas no leídas ordenada por (fecha, idAlerta), a continuación de la
+     * última fila de la página anterior (despuesDeFecha = null para la primera).
+     * Cada alerta trae su obligación, cliente y tipo.
+     */
+    public List<Alerta> listarPendientesPagina(LocalDate despuesDeFecha, int despuesDeId, int tamanio)
+            throws DataAccessException {
+        List<Alerta> lista = new ArrayList<>();
+        String sql = despuesDeFecha == null ? SELECT_PENDIENTES_PRIMERA : SELECT_PENDIENTES_PAGINA;
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            if (despuesDeFecha == null) {
+                ps.setInt(1, tamanio);
+            } else {
+                ps.setDate(1, Date.valueOf(despuesDeFecha));
+                ps.setDate(2, Date.valueOf(despuesDeFecha));
+                ps.setInt(3, despuesDeId);
+                ps.setInt(4, tamanio);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                leerConObligacion(rs, lista);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al listar página de alertas pendientes.", e);
+        }
+        return lista;
+    }
+
     public void marcarLeida(int idAlerta) throws DataAccessException {
         try (Connection con = DB.getConnection();
              PreparedStatement ps = con.prepareStatement(UPDATE_MARCAR_LEIDA)) {
@@ -84,4 +216,21 @@ public class AlertaDAO {
             throw new DataAccessException("Error al verificar existencia de alerta.", e);
         }
     }
+
+    // Filas de SELECT_CON_OBLIGACION: cada cliente/tipo se materializa una vez por consulta
+    private static void leerConObligacion(ResultSet rs, List<Alerta> destino) throws SQLException {
+        MapeadorFila.Lector<Alerta> alertas = MAPEADOR.sobre(rs);
+        MapeadorFila.Lector<Obligacion> obligaciones = ObligacionDAO.lectorObligaciones(rs, new MapaIdentidad());
+        while (rs.next()) {
+            Alerta a = alertas.leer();
+            a.setObligacion(obligaciones.leer());
+            destino.add(a);
+        }
+    }
+
+    private void vincular(PreparedStatement ps, Alerta a) throws SQLException {
+        ps.setInt(1, a.getObligacion().getIdObligacion());
+        ps.setDate(2, Date.valueOf(a.getFecha()));
+        ps.setBoolean(3, a.isLeida());
+    }
 }
@@ -0,0 +1,136 @@
+package sgvic.dao;
+
+import sgvic.config.DB;
+import sgvic.entidades.Cliente;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache LRU acotado de clientes, con dos claves: idCliente y CUIT.
+ *
+ * Lo usa ClienteDAO en buscarPorId / buscarPorCuit. Es seguro entre hilos (todas las
+ * operaciones son cortas y sincronizadas). Guarda y devuelve copias, así que quien
+ * modifique un Cliente obtenido no altera lo cacheado.
+ *
+ * Para no volver a guardar un dato viejo leído antes de una escritura, cada invalidación
+ * incrementa 'version': el DAO toma la versión antes de leer de la BD y guardarSiVigente
+ * descarta el valor si hubo invalidaciones mientras tanto.
+ *
+ * Eso cubre sólo las escrituras de esta terminal: un cliente editado desde otra
+ * sigue viejo acá. Por eso además cada entrada vence a los cache.clientesTtlSeg
+ * segundos (por defecto, los mismos cache.listadosTtlSeg de los listados).
+ */
+final class CacheClientes {
+
+    private static final long TTL_NANOS = DB.propiedadEntera("cache.clientesTtlSeg",
+            DB.propiedadEntera("cache.listadosTtlSeg", 60)) * 1_000_000_000L;
+
+    /** Cliente cacheado y cuándo se leyó de la BD. */
+    private static final class Entrada {
+        final Cliente cliente;
+        final long guardado;   // System.nanoTime()
+
+        Entrada(Cliente cliente, long guardado) {
+            this.cliente = cliente;
+            this.guardado = guardado;
+        }
+    }
+
+    private final LinkedHashMap<Integer, Entrada> porId;
+    private final Map<String, Integer> idPorCuit = new HashMap<>();
+    private long version;
+
+    // === Métricas ===
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+
+    CacheClientes(int capacidad) {
+        this.porId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entrada> eldest) {
+                if (size() <= capacidad) return false;
+                desalojos.increment();
+                idPorCuit.remove(eldest.getValue().cliente.getCuit());
+                return true;
+            }
+        };
+    }
+
+    synchronized Cliente porId(int idCliente) {
+        return copiaContada(vigente(idCliente));
+    }
+
+    synchronized Cliente porCuit(String cuit) {
+        Integer id = idPorCuit.get(cuit);
+        return copiaContada(id != null ? vigente(id) : null);
+    }
+
+    // La entrada de 'idCliente' si no venció; si venció la descarta
+    private Cliente vigente(int idCliente) {
+        Entrada e = porId.get(idCliente);
+        if (e == null) return null;
+        if (System.nanoTime() - e.guardado >= TTL_NANOS) {
+            porId.remove(idCliente);
+            idPorCuit.remove(e.cliente.getCuit());
+            return null;
+        }
+        return e.cliente;
+    }
+
+    /** Versión actual; se toma antes de leer de la BD y se pasa a guardarSiVigente. */
+    synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Guarda 'c' salvo que se haya invalidado algo desde 'versionLeida'. La antigüedad se
+     * cuenta desde ahora (la lectura de la BD acaba de terminar).
+     */
+    synchronized void guardarSiVigente(Cliente c, long versionLeida) {
+        if (c == null || versionLeida != version) return;
+        Entrada anterior = porId.put(c.getIdCliente(), new Entrada(copia(c), System.nanoTime()));
+        if (anterior != null) idPorCuit.remove(anterior.cliente.getCuit());
+        idPorCuit.put(c.getCuit(), c.getIdCliente());
+    }
+
+    synchronized void invalidar(int idCliente) {
+        version++;
+        Entrada e = porId.remove(idCliente);
+        if (e != null) idPorCuit.remove(e.cliente.getCuit());
+    }
+
+    synchronized void invalidarTodo() {
+        version++;
+        porId.clear();
+        idPorCuit.clear();
+    }
+
+    synchronized int tamanio() {
+        return porId.size();
+    }
+
+    String estadisticas() {
+        long a = aciertos.sum();
+        long f = fallos.sum();
+        return String.format("CacheClientes{tamanio=%d, aciertos=%d, fallos=%d, desalojos=%d, tasaAcierto=%.1f%%}",
+                tamanio(), a, f, desalojos.sum(), a + f == 0 ? 0.0 : 100.0 * a / (a + f));
+    }
+
+    private Cliente copiaContada(Cliente c) {
+        if (c == null) {
+            fallos.increment();
+            return null;
+        }
+        aciertos.increment();
+        return copia(c);
+    }
+
+    private static Cliente copia(Cliente c) {
+        return new Cliente(c.getIdCliente(), c.getRazonSocial(), c.getCuit(),
+                c.getEmail(), c.getTelefono(), c.getDireccion());
+    }
+}
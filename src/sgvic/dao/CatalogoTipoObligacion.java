@@ -0,0 +1,117 @@
+package sgvic.dao;
+
+import sgvic.config.DB;
+import sgvic.entidades.TipoObligacion;
+import sgvic.excepciones.DataAccessException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cache en memoria de la tabla 'tipoobligacion' (IVA, GAN, MON, SIC, IIBB...).
+ *
+ * Son pocas filas que casi nunca cambian, así que se leen una vez y se guardan en una
+ * foto inmutable (lista + índices por id y por código). Lecturas sin locks: cada
+ * consulta ve una foto completa. La foto se vuelve a cargar cuando pasa
+ * catalogo.tiposTtlSeg, con refrescar(), o si se pide un id que no está; esto último
+ * una sola vez por foto, así una obligación con un tipo inexistente no relee la tabla
+ * en cada fila (el id queda como inexistente hasta que la foto venza).
+ *
+ * Las instancias son compartidas (ObligacionDAO las reutiliza en cada fila): no modificarlas.
+ */
+public final class CatalogoTipoObligacion {
+
+    private static final long TTL_NANOS = DB.propiedadEntera("catalogo.tiposTtlSeg", 600) * 1_000_000_000L;
+
+    private static final TipoObligacionDAO DAO = new TipoObligacionDAO();
+    private static volatile Foto foto;
+
+    private CatalogoTipoObligacion() { }
+
+    /** Todos los tipos, en el orden de la tabla (lista inmodificable). */
+    public static List<TipoObligacion> todos() throws DataAccessException {
+        return vigente().todos;
+    }
+
+    /**
+     * Tipo por id, o null. Si no está en la foto se recarga (puede haberse agregado), salvo
+     * que la foto ya sea una recarga por id faltante: como mucho una por catalogo.tiposTtlSeg.
+     */
+    public static TipoObligacion porId(int idTipo) throws DataAccessException {
+        Foto f = vigente();
+        TipoObligacion t = f.porId.get(idTipo);
+        if (t != null || f.porFalta) return t;
+        synchronized (CatalogoTipoObligacion.class) {
+            Foto actual = foto;
+            // si otro hilo ya la recargó mientras esperábamos, alcanza con mirar esa
+            if (actual == f) actual = recargar(true);
+            return actual.porId.get(idTipo);
+        }
+    }
+
+    /** Tipo por código ("IVA", "iva"...), o null. */
+    public static TipoObligacion porCodigo(String codigo) throws DataAccessException {
+        if (codigo == null) return null;
+        return vigente().porCodigo.get(codigo.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Instancia ya cargada para 'idTipo', sin ir nunca a la BD (null si todavía no se
+     * cargó el catálogo o el id no está). La usan los mapeos fila → entidad.
+     */
+    static TipoObligacion enMemoria(int idTipo) {
+        Foto f = foto;
+        return f != null ? f.porId.get(idTipo) : null;
+    }
+
+    /** Carga el catálogo si todavía no está (para precalentar al arrancar). */
+    public static void cargar() throws DataAccessException {
+        vigente();
+    }
+
+    /** Descarta la foto actual y la vuelve a leer de la BD (ej.: después de editar tipos). */
+    public static void refrescar() throws DataAccessException {
+        recargar(false);
+    }
+
+    private static synchronized Foto recargar(boolean porFalta) throws DataAccessException {
+        Foto nueva = new Foto(DAO.listar(), porFalta);
+        foto = nueva;
+        return nueva;
+    }
+
+    private static Foto vigente() throws DataAccessException {
+        Foto f = foto;
+        if (f != null && System.nanoTime() - f.cargada < TTL_NANOS) return f;
+        synchronized (CatalogoTipoObligacion.class) {
+            f = foto;   // otro hilo pudo haberla cargado mientras esperábamos
+            if (f != null && System.nanoTime() - f.cargada < TTL_NANOS) return f;
+            return recargar(false);
+        }
+    }
+
+    /** Foto inmutable del catálogo. */
+    private static final class Foto {
+        private final List<TipoObligacion> todos;
+        private final Map<Integer, TipoObligacion> porId;
+        private final Map<String, TipoObligacion> porCodigo;
+        private final long cargada = System.nanoTime();
+        private final boolean porFalta;   // se cargó porque se pidió un id que no estaba
+
+        private Foto(List<TipoObligacion> tipos, boolean porFalta) {
+            this.porFalta = porFalta;
+            Map<Integer, TipoObligacion> ids = new HashMap<>();
+            Map<String, TipoObligacion> codigos = new HashMap<>();
+            for (TipoObligacion t : tipos) {
+                ids.put(t.getIdTipo(), t);
+                if (t.getCodigo() != null) codigos.put(t.getCodigo().trim().toUpperCase(Locale.ROOT), t);
+            }
+            this.todos = Collections.unmodifiableList(tipos);
+            this.porId = Collections.unmodifiableMap(ids);
+            this.porCodigo = Collections.unmodifiableMap(codigos);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package sgvic.dao;
 import sgvic.entidades.Cliente;
 import sgvic.excepciones.DataAccessException;
 import sgvic.config.DB;
+import sgvic.config.Transacciones;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -33,28 +34,39 @@ public class ClienteDAO implements Repositorio<Cliente> {
     private static final String SELECT_BY_CUIT =
             "SELECT * FROM cliente WHERE cuit=?";
 
+    private static final String SELECT_CUITS =
+            "SELECT cuit FROM cliente";
+
+    // Filas por viaje al servidor al recorrer con cursor
+    private static final int FETCH_SIZE = DB.propiedadEntera("cursor.fetchSize", 500);
+
+    // Paginación por clave (keyset): usa el índice de la PK, no importa qué tan lejos esté la página
+    private static final String SELECT_PAGINA =
+            "SELECT * FROM cliente WHERE idCliente > ? ORDER BY idCliente LIMIT ?";
+
+    // Cache compartido por todas las instancias del DAO (buscarPorId / buscarPorCuit)
+    private static final CacheClientes CACHE =
+            new CacheClientes(Math.max(1, DB.propiedadEntera("cache.clientes", 1000)));
+
+    /** Aciertos, fallos y desalojos del cache de clientes. */
+    public static String getEstadisticasCache() {
+        return CACHE.estadisticas();
+    }
+
     @Override
     public void guardar(Cliente c) throws DataAccessException {
         try (Connection con = DB.getConnection()) {
             if (c.getIdCliente() > 0) {
                 // UPDATE
                 try (PreparedStatement ps = con.prepareStatement(UPDATE)) {
-                    ps.setString(1, c.getRazonSocial());
-                    ps.setString(2, c.getCuit());
-                    ps.setString(3, c.getEmail());
-                    ps.setString(4, c.getTelefono());
-                    ps.setString(5, c.getDireccion());
+                    vincular(ps, c);
                     ps.setInt(6, c.getIdCliente());
                     ps.executeUpdate();
                 }
             } else {
                 // INSERT
                 try (PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
-                    ps.setString(1, c.getRazonSocial());
-                    ps.setString(2, c.getCuit());
-                    ps.setString(3, c.getEmail());
-                    ps.setString(4, c.getTelefono());
-                    ps.setString(5, c.getDireccion());
+                    vincular(ps, c);
                     ps.executeUpdate();
 
                     try (ResultSet rs = ps.getGeneratedKeys()) {
@@ -68,33 +80,46 @@ public class ClienteDAO implements Repositorio<Cliente> {
         } catch (SQLException e) {
             throw new DataAccessException("Error al guardar cliente.", e);
         }
+        invalidar(c.getIdCliente());
     }
 
+    /** Cliente por id; primero se busca en el cache de clientes. */
     @Override
     public Cliente buscarPorId(int id) throws DataAccessException {
+        Cliente c = CACHE.porId(id);
+        if (c != null) return c;
+
+        long version = CACHE.version();
         try (Connection con = DB.getConnection();
              PreparedStatement ps = con.prepareStatement(SELECT_BY_ID)) {
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return mapearCliente(rs);
+                if (rs.next()) c = MAPEADOR.sobre(rs).leer();
             }
         } catch (SQLException e) {
             throw new DataAccessException("Error al buscar cliente por ID.", e);
         }
-        return null;
+        cachear(c, version);
+        return c;
     }
 
+    /** Cliente por CUIT; primero se busca en el cache de clientes. */
     public Cliente buscarPorCuit(String cuit) throws DataAccessException {
+        Cliente c = CACHE.porCuit(cuit);
+        if (c != null) return c;
+
+        long version = CACHE.version();
         try (Connection con = DB.getConnection();
              PreparedStatement ps = con.prepareStatement(SELECT_BY_CUIT)) {
             ps.setString(1, cuit);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return mapearCliente(rs);
+                if (rs.next()) c = MAPEADOR.sobre(rs).leer();
             }
         } catch (SQLException e) {
             throw new DataAccessException("Error al buscar cliente por CUIT.", e);
         }
-        return null;
+        cachear(c, version);
+        return c;
     }
 
     @Override
@@ -104,7 +129,8 @@ public class ClienteDAO implements Repositorio<Cliente> {
              PreparedStatement ps = con.prepareStatement(SELECT_ALL);
              ResultSet rs = ps.executeQuery()) {
 
-            while (rs.next()) lista.add(mapearCliente(rs));
+            MapeadorFila.Lector<Cliente> lector = MAPEADOR.sobre(rs);
+            while (rs.next()) lista.add(lector.leer());
 
         } catch (SQLException e) {
             throw new DataAccessException("Error al listar clientes.", e);
@@ -112,6 +138,39 @@ public class ClienteDAO implements Repositorio<Cliente> {
         return lista;
     }
 
+    /**
+     * Recorre sólo los CUIT de todos los clientes, con cursor (para validaciones masivas
+     * como la importación, sin materializar los Cliente).
+     */
+    public void recorrerCuits(ProcesadorFila<String> procesador) throws DataAccessException {
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(SELECT_CUITS)) {
+            ps.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (ProcesadorFila.siguiente(rs)) procesador.procesar(rs.getString(1));
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al leer los CUIT de clientes.", e);
+        }
+    }
+
+    @Override
+    public List<Cliente> listarPagina(int despuesDeId, int tamanio) throws DataAccessException {
+        List<Cliente> lista = new ArrayList<>();
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(SELECT_PAGINA)) {
+            ps.setInt(1, despuesDeId);
+            ps.setInt(2, tamanio);
+            try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFila.Lector<Cliente> lector = MAPEADOR.sobre(rs);
+                while (rs.next()) lista.add(lector.leer());
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al listar página de clientes.", e);
+        }
+        return lista;
+    }
+
     @Override
     public void eliminar(int id) throws DataAccessException {
         try (Connection con = DB.getConnection();
@@ -121,18 +180,77 @@ public class ClienteDAO implements Repositorio<Cliente> {
         } catch (SQLException e) {
             throw new DataAccessException("Error al eliminar cliente.", e);
         }
+        invalidar(id);
+    }
+
+    /**
+     * Guarda varios clientes en una sola transacción, con lotes JDBC:
+     * los nuevos (id = 0) con INSERT multi-fila (reciben su id) y el resto con UPDATE.
+     */
+    @Override
+    public void guardarTodos(List<Cliente> clientes) throws DataAccessException {
+        List<Cliente> nuevos = new ArrayList<>();
+        List<Cliente> existentes = new ArrayList<>();
+        for (Cliente c : clientes) (c.getIdCliente() > 0 ? existentes : nuevos).add(c);
+
+        try (Connection con = DB.getConnection()) {
+            Lotes.enTransaccion(con, () -> {
+                Lotes.insertar(con, INSERT, nuevos, this::vincular, Cliente::setIdCliente);
+                Lotes.actualizar(con, UPDATE, existentes, (ps, c) -> {
+                    vincular(ps, c);
+                    ps.setInt(6, c.getIdCliente());
+                });
+            });
+        } catch (SQLException e) {
+            if (Lotes.esViolacionDeClave(e)) {
+                throw new DataAccessException("Algún CUIT del lote ya existe en la base de datos.", e);
+            }
+            throw new DataAccessException("Error al guardar clientes en lote.", e);
+        }
+        for (Cliente c : existentes) invalidar(c.getIdCliente());
     }
 
-    // --- Método auxiliar para mapear el ResultSet a un objeto Cliente ---
-    private Cliente mapearCliente(ResultSet rs) throws SQLException {
-        return new Cliente(
-                rs.getInt("idCliente"),
-                rs.getString("razon_social"),
-                rs.getString("cuit"),
-                rs.getString("email"),
-                rs.getString("telefono"),
-                rs.getString("direccion")
-        );
+    @Override
+    public void eliminarTodos(List<Integer> ids) throws DataAccessException {
+        try (Connection con = DB.getConnection()) {
+            Lotes.enTransaccion(con, () -> Lotes.eliminar(con, "cliente", "idCliente", ids));
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al eliminar clientes en lote.", e);
+        }
+        for (int id : ids) invalidar(id);
+    }
+
+    // Dentro de una transacción no se cachea: lo leído puede no estar confirmado todavía
+    private static void cachear(Cliente c, long version) {
+        if (c != null && !Transacciones.activa()) CACHE.guardarSiVigente(c, version);
     }
+
+    // Se invalida ya (para este hilo) y otra vez al confirmar, por si otro hilo volvió a
+    // cachear el valor anterior mientras la transacción seguía abierta. Los listados de
+    // obligaciones muestran datos del cliente, así que también cambian.
+    private static void invalidar(int idCliente) {
+        CACHE.invalidar(idCliente);
+        if (Transacciones.activa()) Transacciones.alConfirmar(() -> CACHE.invalidar(idCliente));
+        ObligacionDAO.cambiaronDatos();
+    }
+
+    // Parámetros 1..5 comunes a INSERT y UPDATE
+    private void vincular(PreparedStatement ps, Cliente c) throws SQLException {
+        ps.setString(1, c.getRazonSocial());
+        ps.setString(2, c.getCuit());
+        ps.setString(3, c.getEmail());
+        ps.setString(4, c.getTelefono());
+        ps.setString(5, c.getDireccion());
+    }
+
+    // --- Mapeo de ResultSet a Cliente (posiciones resueltas una vez por consulta) ---
+    static final MapeadorFila<Cliente> MAPEADOR = new MapeadorFila<>((rs, col) -> new Cliente(
+            rs.getInt(col[0]),
+            rs.getString(col[1]),
+            rs.getString(col[2]),
+            rs.getString(col[3]),
+            rs.getString(col[4]),
+            rs.getString(col[5])
+    ), "idCliente", "razon_social", "cuit", "email", "telefono", "direccion");
 }
 
@@ -0,0 +1,135 @@
+package sgvic.dao;
+
+import sgvic.config.DB;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ayudas para escribir en lote (JDBC batch) desde los DAO.
+ * Con rewriteBatchedStatements el driver junta cada lote de INSERT en un solo
+ * INSERT ... VALUES (...), (...), ... y devuelve todas las claves generadas.
+ */
+final class Lotes {
+
+    /** Filas por lote (executeBatch). */
+    static final int TAMANIO = Math.max(1, DB.propiedadEntera("lote.tamanio", 500));
+
+    @FunctionalInterface
+    interface Vinculador<T> {
+        void vincular(PreparedStatement ps, T entidad) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface AsignadorClave<T> {
+        void asignar(T entidad, int id);
+    }
+
+    @FunctionalInterface
+    interface Operacion {
+        void ejecutar() throws SQLException;
+    }
+
+    private Lotes() { }
+
+    /**
+     * Ejecuta 'op' en una transacción sobre 'con' (commit o rollback).
+     * Si 'con' ya está en una transacción (Transacciones.enTransaccion) no la confirma:
+     * 'op' corre dentro de un savepoint y, si falla, sólo se deshace lo suyo.
+     */
+    static void enTransaccion(Connection con, Operacion op) throws SQLException {
+        if (!con.getAutoCommit()) {
+            Savepoint sp = con.setSavepoint();
+            try {
+                op.ejecutar();
+                con.releaseSavepoint(sp);
+            } catch (SQLException | RuntimeException e) {
+                con.rollback(sp);
+                throw e;
+            }
+            return;
+        }
+
+        con.setAutoCommit(false);
+        try {
+            op.ejecutar();
+            con.commit();
+        } catch (SQLException | RuntimeException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+    }
+
+    /** INSERT en lotes de TAMANIO; asigna a cada entidad su clave generada. */
+    static <T> void insertar(Connection con, String sql, List<T> entidades,
+                             Vinculador<T> vinculador, AsignadorClave<T> clave) throws SQLException {
+        if (entidades.isEmpty()) return;
+        try (PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int desde = 0; desde < entidades.size(); desde += TAMANIO) {
+                List<T> lote = entidades.subList(desde, Math.min(desde + TAMANIO, entidades.size()));
+                for (T e : lote) {
+                    vinculador.vincular(ps, e);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    for (T e : lote) {
+                        if (!rs.next()) break;
+                        clave.asignar(e, rs.getInt(1));
+                    }
+                }
+            }
+        }
+    }
+
+    /** UPDATE (u otra sentencia sin claves generadas) en lotes de TAMANIO. */
+    static <T> void actualizar(Connection con, String sql, List<T> entidades,
+                               Vinculador<T> vinculador) throws SQLException {
+        if (entidades.isEmpty()) return;
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            int enLote = 0;
+            for (T e : entidades) {
+                vinculador.vincular(ps, e);
+                ps.addBatch();
+                if (++enLote == TAMANIO) {
+                    ps.executeBatch();
+                    enLote = 0;
+                }
+            }
+            if (enLote > 0) ps.executeBatch();
+        }
+    }
+
+    /**
+     * DELETE por id con "WHERE columna IN (?,...,?)" de a TAMANIO ids.
+     * Sólo hay dos textos SQL distintos (lote completo y resto), así que se cachean bien.
+     */
+    static void eliminar(Connection con, String tabla, String columnaId, List<Integer> ids) throws SQLException {
+        for (int desde = 0; desde < ids.size(); desde += TAMANIO) {
+            List<Integer> lote = ids.subList(desde, Math.min(desde + TAMANIO, ids.size()));
+            String sql = "DELETE FROM " + tabla + " WHERE " + columnaId + " IN ("
+                    + String.join(",", Collections.nCopies(lote.size(), "?")) + ")";
+            try (PreparedStatement ps = con.prepareStatement(sql)) {
+                for (int i = 0; i < lote.size(); i++) ps.setInt(i + 1, lote.get(i));
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    /** true si el error (o el de un lote) es una violación de clave única/foránea. */
+    static boolean esViolacionDeClave(SQLException e) {
+        if (e instanceof SQLIntegrityConstraintViolationException) return true;
+        return e instanceof BatchUpdateException
+                && e.getCause() instanceof SQLIntegrityConstraintViolationException;
+    }
+}
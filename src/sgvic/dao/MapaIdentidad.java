@@ -0,0 +1,46 @@
+package sgvic.dao;
+
+import sgvic.entidades.Cliente;
+import sgvic.entidades.TipoObligacion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mapa de identidad: cada idCliente / idTipo se materializa una sola vez
+ * y todas las obligaciones que lo referencian comparten la misma instancia.
+ *
+ * ObligacionDAO usa uno nuevo por consulta; si se le pasa uno en el constructor,
+ * se comparte entre consultas (una "sesión"). No es thread-safe: una sesión
+ * se usa desde un solo hilo.
+ */
+public class MapaIdentidad {
+
+    private final Map<Integer, Cliente> clientes = new HashMap<>();
+    private final Map<Integer, TipoObligacion> tipos = new HashMap<>();
+
+    public Cliente cliente(int idCliente) {
+        return clientes.get(idCliente);
+    }
+
+    public void agregar(Cliente c) {
+        clientes.put(c.getIdCliente(), c);
+    }
+
+    public TipoObligacion tipo(int idTipo) {
+        return tipos.get(idTipo);
+    }
+
+    public void agregar(TipoObligacion t) {
+        tipos.put(t.getIdTipo(), t);
+    }
+
+    /** Olvida todo (ej.: al cerrar una sesión o si los datos pudieron cambiar). */
+    public void limpiar() {
+        clientes.clear();
+        tipos.clear();
+    }
+
+    public int cantidadClientes() { return clientes.size(); }
+    public int cantidadTipos() { return tipos.size(); }
+}
@@ -0,0 +1,103 @@
+package sgvic.dao;
+
+import sgvic.entidades.EstadoObligacion;
+import sgvic.entidades.TipoObligacion.Periodicidad;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Convierte filas de un ResultSet en entidades leyendo las columnas por posición.
+ *
+ * Las posiciones se buscan por nombre una sola vez por ResultSet (sobre(rs)) y
+ * después cada fila se lee con rs.getXxx(int), sin búsquedas por nombre.
+ * También trae los decodificadores de los ENUM de la BD (periodicidad, estado),
+ * que resuelven cada texto una vez y después lo sacan de un mapa.
+ *
+ * Uso:
+ * <pre>
+ *   MapeadorFila.Lector&lt;Cliente&gt; lector = MAPEADOR.sobre(rs);
+ *   while (rs.next()) lista.add(lector.leer());
+ * </pre>
+ */
+public final class MapeadorFila<T> {
+
+    /** Arma la entidad de la fila actual; col[i] es la posición de la i-ésima columna declarada. */
+    @FunctionalInterface
+    public interface Constructor<T> {
+        T construir(ResultSet rs, int[] col) throws SQLException;
+    }
+
+    private final Constructor<T> constructor;
+    private final String[] columnas;
+
+    public MapeadorFila(Constructor<T> constructor, String... columnas) {
+        this.constructor = constructor;
+        this.columnas = columnas;
+    }
+
+    /** Resuelve las posiciones de las columnas en 'rs' y devuelve un lector para sus filas. */
+    public Lector<T> sobre(ResultSet rs) throws SQLException {
+        int[] col = new int[columnas.length];
+        for (int i = 0; i < columnas.length; i++) col[i] = rs.findColumn(columnas[i]);
+        return new Lector<>(rs, col, constructor);
+    }
+
+    /** Mapeador ya ligado a un ResultSet: lee la fila actual. */
+    public static final class Lector<T> {
+        private final ResultSet rs;
+        private final int[] col;
+        private final Constructor<T> constructor;
+
+        private Lector(ResultSet rs, int[] col, Constructor<T> constructor) {
+            this.rs = rs;
+            this.col = col;
+            this.constructor = constructor;
+        }
+
+        public T leer() throws SQLException {
+            return constructor.construir(rs, col);
+        }
+    }
+
+    // === Decodificadores de ENUM de la BD ===
+
+    private static final Map<String, Periodicidad> PERIODICIDADES = new ConcurrentHashMap<>();
+    private static final Map<String, EstadoObligacion> ESTADOS = new ConcurrentHashMap<>();
+
+    static {
+        // Valores tal como están en la BD: 'Mensual','Anual','Otra' / 'Pendiente','Vencida','Pagada'
+        PERIODICIDADES.put("Mensual", Periodicidad.MENSUAL);
+        PERIODICIDADES.put("Anual", Periodicidad.ANUAL);
+        PERIODICIDADES.put("Otra", Periodicidad.OTRA);
+        ESTADOS.put("Pendiente", EstadoObligacion.PENDIENTE);
+        ESTADOS.put("Vencida", EstadoObligacion.VENCIDA);
+        ESTADOS.put("Pagada", EstadoObligacion.PAGADA);
+    }
+
+    /** 'Mensual' / 'MENSUAL' / ... → Periodicidad (lanza IllegalArgumentException si no existe). */
+    public static Periodicidad periodicidad(String valor) {
+        Periodicidad p = PERIODICIDADES.get(valor);
+        if (p == null) {
+            p = Periodicidad.valueOf(valor.toUpperCase(Locale.ROOT));
+            PERIODICIDADES.put(valor, p);
+        }
+        return p;
+    }
+
+    /** 'Pendiente' / 'Vencida' / 'Pagada' (sin importar mayúsculas) → EstadoObligacion; otro valor = PENDIENTE. */
+    public static EstadoObligacion estado(String valor) {
+        if (valor == null) return EstadoObligacion.PENDIENTE;
+        EstadoObligacion e = ESTADOS.get(valor);
+        if (e == null) {
+            if ("Vencida".equalsIgnoreCase(valor)) e = EstadoObligacion.VENCIDA;
+            else if ("Pagada".equalsIgnoreCase(valor)) e = EstadoObligacion.PAGADA;
+            else e = EstadoObligacion.PENDIENTE;
+            ESTADOS.put(valor, e);
+        }
+        return e;
+    }
+}
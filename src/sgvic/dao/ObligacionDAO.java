@@ -1,6 +1,7 @@
 package sgvic.dao;
 
 import sgvic.config.DB;
+import sgvic.config.Transacciones;
 import sgvic.entidades.*;
 import sgvic.entidades.TipoObligacion.Periodicidad;
 import sgvic.excepciones.DataAccessException;
@@ -9,10 +10,28 @@ import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ObligacionDAO implements Repositorio<Obligacion> {
 
+    // Mapa de identidad compartido entre consultas (null = uno nuevo por consulta)
+    private final MapaIdentidad sesion;
+
+    public ObligacionDAO() {
+        this(null);
+    }
+
+    /**
+     * DAO cuyas consultas comparten el mapa de identidad 'sesion': el mismo cliente
+     * o tipo es la misma instancia en todas las obligaciones que se lean.
+     */
+    public ObligacionDAO(MapaIdentidad sesion) {
+        this.sesion = sesion;
+    }
+
     private static final String INSERT =
             "INSERT INTO obligacion (idCliente, idTipo, periodo, fechaVenc, monto, estado) VALUES (?,?,?,?,?,?)";
 
@@ -22,53 +41,116 @@ public class ObligacionDAO implements Repositorio<Obligacion> {
     private static final String DELETE =
             "DELETE FROM obligacion WHERE idObligacion=?";
 
-    private static final String SELECT_BASE =
-            "SELECT o.idObligacion, o.idCliente, o.idTipo, o.periodo, o.fechaVenc, o.monto, o.estado, " +
+    // Columnas y joins de una obligación con su cliente y tipo (AlertaDAO los reutiliza
+    // para traer alertas con su obligación en la misma consulta; ver lectorObligaciones)
+    static final String COLUMNAS_SQL =
+            "o.idObligacion, o.idCliente, o.idTipo, o.periodo, o.fechaVenc, o.monto, o.estado, " +
             "       c.razon_social, c.cuit, c.email, c.telefono, c.direccion, " +
-            "       t.codigo, t.descripcion, t.periodicidad " +
-            "FROM obligacion o " +
+            "       t.codigo, t.descripcion, t.periodicidad ";
+    static final String JOINS_SQL =
             "JOIN cliente c ON c.idCliente = o.idCliente " +
             "JOIN tipoobligacion t ON t.idTipo = o.idTipo ";
 
+    private static final String SELECT_BASE =
+            "SELECT " + COLUMNAS_SQL +
+            "FROM obligacion o " +
+            JOINS_SQL;
+
     private static final String SELECT_ALL = SELECT_BASE;
     private static final String SELECT_BY_ID = SELECT_BASE + " WHERE o.idObligacion=?";
     private static final String SELECT_BY_CLIENTE = SELECT_BASE + " WHERE o.idCliente=?";
+    // Índice idx_obligacion_periodo (migración V004)
+    private static final String SELECT_BY_PERIODO =
+            SELECT_BASE + " WHERE o.periodo=? ORDER BY o.idObligacion LIMIT ?";
+
+    // Paginación por clave (keyset): se sigue desde la última fila vista, sin OFFSET
+    private static final String SELECT_PAGINA =
+            SELECT_BASE + " WHERE o.idObligacion > ? ORDER BY o.idObligacion LIMIT ?";
+    private static final String SELECT_PAGINA_VENC_PRIMERA =
+            SELECT_BASE + " ORDER BY o.fechaVenc, o.idObligacion LIMIT ?";
+    private static final String SELECT_PAGINA_VENC =
+            SELECT_BASE + " WHERE o.fechaVenc > ? OR (o.fechaVenc = ? AND o.idObligacion > ?)" +
+            " ORDER BY o.fechaVenc, o.idObligacion LIMIT ?";
+
+    // Candidatas a alerta: no pagadas que vencen hasta una fecha. El filtro va en el servidor y
+    // usa el índice (estado, fechaVenc) de la migración V002: IN en lugar de <> 'Pagada' para que
+    // sean dos rangos sobre el índice y no un recorrido de todo el historial pagado.
+    private static final String SELECT_PENDIENTES_HASTA =
+            SELECT_BASE + " WHERE o.estado IN ('Pendiente','Vencida') AND o.fechaVenc <= ?" +
+            " ORDER BY o.fechaVenc, o.idObligacion";
 
+    // Versión compacta (ObligacionesCompactas): sin cliente, fecha en días desde 1970-01-01
+    // (TO_DAYS('1970-01-01') = 719528) y monto en centavos, para no crear Date ni BigDecimal
+    private static final String SELECT_COMPACTAS_BASE =
+            "SELECT o.idObligacion, o.idCliente, o.idTipo, o.periodo, " +
+            "       TO_DAYS(o.fechaVenc) - 719528 AS fechaVencDias, CAST(o.monto * 100 AS SIGNED) AS montoCentavos, " +
+            "       o.estado, t.periodicidad " +
+            "FROM obligacion o JOIN tipoobligacion t ON t.idTipo = o.idTipo ";
+    private static final String SELECT_COMPACTAS = SELECT_COMPACTAS_BASE + "ORDER BY o.idObligacion";
+    private static final String SELECT_COMPACTAS_PENDIENTES_HASTA = SELECT_COMPACTAS_BASE +
+            "WHERE o.estado IN ('Pendiente','Vencida') AND o.fechaVenc <= ? ORDER BY o.fechaVenc, o.idObligacion";
+
+    // Filas que trae cada viaje al servidor cuando se recorre con cursor (recorrer)
+    private static final int FETCH_SIZE = DB.propiedadEntera("cursor.fetchSize", 500);
+
+    // Generación de los datos que muestran los listados de obligaciones: sube con cada
+    // escritura (obligaciones, pagos, clientes) y la usa el cache de ObligacionService
+    private static final AtomicLong GENERACION = new AtomicLong();
+
+    /** Generación actual de los datos de obligaciones (cambia con cada escritura). */
+    public static long generacion() {
+        return GENERACION.get();
+    }
+
+    /**
+     * Registra que cambiaron datos de los listados. Dentro de una transacción vuelve a
+     * subir al confirmar, por si otro hilo cacheó un listado mientras seguía abierta.
+     */
+    static void cambiaronDatos() {
+        GENERACION.incrementAndGet();
+        if (Transacciones.activa()) Transacciones.alConfirmar(GENERACION::incrementAndGet);
+    }
+
+    /**
+     * INSERT (id = 0) o UPDATE de la obligación, en una transacción junto con el
+     * resumen de su cliente (y el del cliente anterior, si el UPDATE lo cambió).
+     */
     @Override
     public void guardar(Obligacion o) throws DataAccessException {
         try (Connection con = DB.getConnection()) {
-            if (o.getIdObligacion() > 0) {
-                try (PreparedStatement ps = con.prepareStatement(UPDATE)) {
-                    ps.setInt(1, o.getCliente().getIdCliente());
-                    ps.setInt(2, o.getTipo().getIdTipo());
-                    ps.setString(3, o.getPeriodo());
-                    ps.setDate(4, Date.valueOf(o.getFechaVenc()));
-                    ps.setBigDecimal(5, o.getMonto());
-                    ps.setString(6, estadoToDb(o.getEstado())); // 'Pendiente','Vencida','Pagada'
-                    ps.setInt(7, o.getIdObligacion());
-                    ps.executeUpdate();
+            Lotes.enTransaccion(con, () -> {
+                Set<Integer> clientes = new LinkedHashSet<>();
+                if (o.getIdObligacion() > 0) {
+                    clientes.addAll(ResumenClienteDAO.clientesDe(con, List.of(o.getIdObligacion())));
                 }
-            } else {
-                try (PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
-                    ps.setInt(1, o.getCliente().getIdCliente());
-                    ps.setInt(2, o.getTipo().getIdTipo());
-                    ps.setString(3, o.getPeriodo());
-                    ps.setDate(4, Date.valueOf(o.getFechaVenc()));
-                    ps.setBigDecimal(5, o.getMonto());
-                    ps.setString(6, estadoToDb(o.getEstado()));
-                    ps.executeUpdate();
+                clientes.add(o.getCliente().getIdCliente());
+                ResumenClienteDAO.bloquear(con, clientes);
 
-                    try (ResultSet rs = ps.getGeneratedKeys()) {
-                        if (rs.next()) o.setIdObligacion(rs.getInt(1));
+                if (o.getIdObligacion() > 0) {
+                    try (PreparedStatement ps = con.prepareStatement(UPDATE)) {
+                        vincular(ps, o);
+                        ps.setInt(7, o.getIdObligacion());
+                        ps.executeUpdate();
+                    }
+                } else {
+                    try (PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                        vincular(ps, o);
+                        ps.executeUpdate();
+
+                        try (ResultSet rs = ps.getGeneratedKeys()) {
+                            if (rs.next()) o.setIdObligacion(rs.getInt(1));
+                        }
                     }
                 }
-            }
+                ResumenClienteDAO.recalcular(con, clientes);
+            });
         } catch (SQLIntegrityConstraintViolationException e) {
             // Puede ser por la UK (idCliente,idTipo,periodo) única en BD
             throw new DataAccessException("Ya existe una obligación para ese cliente, tipo y período.", e);
         } catch (SQLException e) {
             throw new DataAccessException("Error al guardar obligación.", e);
         }
+        cambiaronDatos();
     }
 
     @Override
@@ -77,7 +159,7 @@ public class ObligacionDAO implements Repositorio<Obligacion> {
              PreparedStatement ps = con.prepareStatement(SELECT_BY_ID)) {
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) return mapearObligacion(rs);
+                if (rs.next()) return lector(rs).leer();
                 return null;
             }
         } catch (SQLException e) {
@@ -91,20 +173,168 @@ public class ObligacionDAO implements Repositorio<Obligacion> {
         try (Connection con = DB.getConnection();
              PreparedStatement ps = con.prepareStatement(SELECT_ALL);
              ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) lista.add(mapearObligacion(rs));
+            MapeadorFila.Lector<Obligacion> lector = lector(rs);
+            while (rs.next()) lista.add(lector.leer());
             return lista;
         } catch (SQLException e) {
             throw new DataAccessException("Error al listar obligaciones.", e);
         }
     }
 
+    @Override
+    public List<Obligacion> listarPagina(int despuesDeId, int tamanio) throws DataAccessException {
+        List<Obligacion> lista = new ArrayList<>();
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(SELECT_PAGINA)) {
+            ps.setInt(1, despuesDeId);
+            ps.setInt(2, tamanio);
+            try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFila.Lector<Obligacion> lector = lector(rs);
+                while (rs.next()) lista.add(lector.leer());
+            }
+            return lista;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al listar página de obligaciones.", e);
+        }
+    }
+
+    /**
+     * Página ordenada por (fechaVenc, idObligacion), empezando después de la última
+     * fila de la página anterior. Para la primera página: despuesDeFecha = null.
+     */
+    public List<Obligacion> listarPaginaPorVencimiento(LocalDate despuesDeFecha, int despuesDeId, int tamanio)
+            throws DataAccessException {
+        List<Obligacion> lista = new ArrayList<>();
+        String sql = despuesDeFecha == null ? SELECT_PAGINA_VENC_PRIMERA : SELECT_PAGINA_VENC;
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            if (despuesDeFecha == null) {
+                ps.setInt(1, tamanio);
+            } else {
+                ps.setDate(1, Date.valueOf(despuesDeFecha));
+                ps.setDate(2, Date.valueOf(despuesDeFecha));
+                ps.setInt(3, despuesDeId);
+                ps.setInt(4, tamanio);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFila.Lector<Obligacion> lector = lector(rs);
+                while (rs.next()) lista.add(lector.leer());
+            }
+            return lista;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al listar página de obligaciones por vencimiento.", e);
+        }
+    }
+
+    /**
+     * Recorre todas las obligaciones con un cursor de sólo avance, de a FETCH_SIZE filas,
+     * sin armar la lista completa en memoria. La conexión se cierra al terminar
+     * (o si el procesador lanza una excepción).
+     */
+    public void recorrer(ProcesadorFila<Obligacion> procesador) throws DataAccessException {
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(SELECT_ALL)) {
+            ps.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFila.Lector<Obligacion> lector = lector(rs);
+                while (ProcesadorFila.siguiente(rs)) procesador.procesar(lector.leer());
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al recorrer obligaciones.", e);
+        }
+    }
+
+    /**
+     * Obligaciones no pagadas (Pendiente o Vencida) con vencimiento hasta 'limite' inclusive,
+     * ordenadas por vencimiento. Incluye las ya vencidas.
+     */
+    public List<Obligacion> listarPendientesHasta(LocalDate limite) throws DataAccessException {
+        List<Obligacion> lista = new ArrayList<>();
+        recorrerPendientesHasta(limite, lista::add);
+        return lista;
+    }
+
+    /** Igual que listarPendientesHasta, pero con cursor y de a una (ver recorrer). */
+    public void recorrerPendientesHasta(LocalDate limite, ProcesadorFila<Obligacion> procesador)
+            throws DataAccessException {
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(SELECT_PENDIENTES_HASTA)) {
+            ps.setDate(1, Date.valueOf(limite));
+            ps.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFila.Lector<Obligacion> lector = lector(rs);
+                while (ProcesadorFila.siguiente(rs)) procesador.procesar(lector.leer());
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al listar obligaciones pendientes.", e);
+        }
+    }
+
+    /** Obligaciones del período "AAAA-MM" (las primeras 'limite' por ID), de todos los clientes. */
+    public List<Obligacion> listarPorPeriodo(String periodo, int limite) throws DataAccessException {
+        List<Obligacion> lista = new ArrayList<>();
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(SELECT_BY_PERIODO)) {
+            ps.setString(1, periodo);
+            ps.setInt(2, limite);
+            try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFila.Lector<Obligacion> lector = lector(rs);
+                while (rs.next()) lista.add(lector.leer());
+            }
+            return lista;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al buscar obligaciones por período.", e);
+        }
+    }
+
+    /**
+     * Todas las obligaciones en forma compacta (ver ObligacionesCompactas), leídas con
+     * cursor y sin crear entidades. Para procesos sobre la tabla entera.
+     */
+    public ObligacionesCompactas cargarCompactas() throws DataAccessException {
+        return cargarCompactas(SELECT_COMPACTAS, null, "Error al cargar obligaciones.");
+    }
+
+    /** Como listarPendientesHasta, pero en forma compacta. */
+    public ObligacionesCompactas cargarPendientesCompactasHasta(LocalDate limite) throws DataAccessException {
+        return cargarCompactas(SELECT_COMPACTAS_PENDIENTES_HASTA, limite, "Error al cargar obligaciones pendientes.");
+    }
+
+    private ObligacionesCompactas cargarCompactas(String sql, LocalDate limite, String mensajeError)
+            throws DataAccessException {
+        ObligacionesCompactas.Carga carga = new ObligacionesCompactas.Carga(1024);
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            if (limite != null) ps.setDate(1, Date.valueOf(limite));
+            ps.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = ps.executeQuery()) {
+                // Posiciones fijas de SELECT_COMPACTAS_BASE
+                while (ProcesadorFila.siguiente(rs)) {
+                    carga.agregar(
+                            rs.getInt(1),
+                            rs.getInt(2),
+                            rs.getInt(3),
+                            rs.getString(4),
+                            rs.getInt(5),
+                            rs.getLong(6),
+                            MapeadorFila.estado(rs.getString(7)),
+                            MapeadorFila.periodicidad(rs.getString(8)) == Periodicidad.ANUAL);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException(mensajeError, e);
+        }
+        return carga.terminar();
+    }
+
     public List<Obligacion> listarPorCliente(int idCliente) throws DataAccessException {
         List<Obligacion> lista = new ArrayList<>();
         try (Connection con = DB.getConnection();
              PreparedStatement ps = con.prepareStatement(SELECT_BY_CLIENTE)) {
             ps.setInt(1, idCliente);
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) lista.add(mapearObligacion(rs));
+                MapeadorFila.Lector<Obligacion> lector = lector(rs);
+                while (rs.next()) lista.add(lector.leer());
             }
             return lista;
         } catch (SQLException e) {
@@ -114,43 +344,144 @@ public class ObligacionDAO implements Repositorio<Obligacion> {
 
     @Override
     public void eliminar(int id) throws DataAccessException {
-        try (Connection con = DB.getConnection();
-             PreparedStatement ps = con.prepareStatement(DELETE)) {
-            ps.setInt(1, id);
-            ps.executeUpdate();
+        try (Connection con = DB.getConnection()) {
+            Lotes.enTransaccion(con, () -> {
+                Set<Integer> clientes = ResumenClienteDAO.clientesDe(con, List.of(id));
+                ResumenClienteDAO.bloquear(con, clientes);
+                try (PreparedStatement ps = con.prepareStatement(DELETE)) {
+                    ps.setInt(1, id);
+                    ps.executeUpdate();
+                }
+                ResumenClienteDAO.recalcular(con, clientes);
+            });
         } catch (SQLException e) {
             throw new DataAccessException("Error al eliminar obligación.", e);
         }
+        cambiaronDatos();
+    }
+
+    /**
+     * Guarda varias obligaciones en una sola transacción, con lotes JDBC:
+     * las nuevas (id = 0) con INSERT multi-fila (reciben su id) y el resto con UPDATE.
+     * Los resúmenes de los clientes afectados se recalculan en la misma transacción.
+     */
+    @Override
+    public void guardarTodos(List<Obligacion> obligaciones) throws DataAccessException {
+        List<Obligacion> nuevas = new ArrayList<>();
+        List<Obligacion> existentes = new ArrayList<>();
+        for (Obligacion o : obligaciones) (o.getIdObligacion() > 0 ? existentes : nuevas).add(o);
+
+        try (Connection con = DB.getConnection()) {
+            Lotes.enTransaccion(con, () -> {
+                List<Integer> ids = new ArrayList<>(existentes.size());
+                for (Obligacion o : existentes) ids.add(o.getIdObligacion());
+                Set<Integer> clientes = ResumenClienteDAO.clientesDe(con, ids);
+                for (Obligacion o : obligaciones) clientes.add(o.getCliente().getIdCliente());
+                ResumenClienteDAO.bloquear(con, clientes);
+
+                Lotes.insertar(con, INSERT, nuevas, this::vincular, Obligacion::setIdObligacion);
+                Lotes.actualizar(con, UPDATE, existentes, (ps, o) -> {
+                    vincular(ps, o);
+                    ps.setInt(7, o.getIdObligacion());
+                });
+                ResumenClienteDAO.recalcular(con, clientes);
+            });
+        } catch (SQLException e) {
+            if (Lotes.esViolacionDeClave(e)) {
+                throw new DataAccessException("Alguna obligación del lote ya existe para ese cliente, tipo y período.", e);
+            }
+            throw new DataAccessException("Error al guardar obligaciones en lote.", e);
+        }
+        cambiaronDatos();
+    }
+
+    @Override
+    public void eliminarTodos(List<Integer> ids) throws DataAccessException {
+        try (Connection con = DB.getConnection()) {
+            Lotes.enTransaccion(con, () -> {
+                Set<Integer> clientes = ResumenClienteDAO.clientesDe(con, ids);
+                ResumenClienteDAO.bloquear(con, clientes);
+                Lotes.eliminar(con, "obligacion", "idObligacion", ids);
+                ResumenClienteDAO.recalcular(con, clientes);
+            });
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al eliminar obligaciones en lote.", e);
+        }
+        cambiaronDatos();
+    }
+
+    // Parámetros 1..6 comunes a INSERT y UPDATE
+    private void vincular(PreparedStatement ps, Obligacion o) throws SQLException {
+        ps.setInt(1, o.getCliente().getIdCliente());
+        ps.setInt(2, o.getTipo().getIdTipo());
+        ps.setString(3, o.getPeriodo());
+        ps.setDate(4, Date.valueOf(o.getFechaVenc()));
+        ps.setBigDecimal(5, o.getMonto());
+        ps.setString(6, estadoToDb(o.getEstado())); // 'Pendiente','Vencida','Pagada'
     }
 
     // --- Helpers de mapeo ---
-    private Obligacion mapearObligacion(ResultSet rs) throws SQLException {
-        // Cliente (datos esenciales)
-        Cliente c = new Cliente(
-                rs.getInt("idCliente"),
-                rs.getString("razon_social"),
-                rs.getString("cuit"),
-                rs.getString("email"),
-                rs.getString("telefono"),
-                rs.getString("direccion")
-        );
-
-        // Tipo
-        TipoObligacion.Periodicidad per =
-                Periodicidad.valueOf(rs.getString("periodicidad").toUpperCase());
-        TipoObligacion t = new TipoObligacion(
-                rs.getInt("idTipo"),
-                rs.getString("codigo"),
-                rs.getString("descripcion"),
-                per
-        );
+    private MapaIdentidad mapaDeConsulta() {
+        return sesion != null ? sesion : new MapaIdentidad();
+    }
+
+    // Columnas de COLUMNAS_SQL en el orden en que las usa mapearObligacion (col[0..14])
+    private static final String[] COLUMNAS = {
+            "idObligacion", "idCliente", "idTipo", "periodo", "fechaVenc", "monto", "estado",
+            "razon_social", "cuit", "email", "telefono", "direccion",
+            "codigo", "descripcion", "periodicidad"
+    };
+
+    // Lector para una consulta sobre SELECT_BASE: posiciones resueltas una vez, mapa de identidad propio
+    private MapeadorFila.Lector<Obligacion> lector(ResultSet rs) throws SQLException {
+        return lectorObligaciones(rs, mapaDeConsulta());
+    }
+
+    /**
+     * Lector de obligaciones para cualquier consulta que incluya COLUMNAS_SQL (AlertaDAO;
+     * Benchmark lo usa sobre filas en memoria).
+     */
+    public static MapeadorFila.Lector<Obligacion> lectorObligaciones(ResultSet rs, MapaIdentidad mapa) throws SQLException {
+        return new MapeadorFila<>((r, col) -> mapearObligacion(r, col, mapa), COLUMNAS).sobre(rs);
+    }
+
+    private static Obligacion mapearObligacion(ResultSet rs, int[] col, MapaIdentidad mapa) throws SQLException {
+        // Cliente (datos esenciales): una sola instancia por idCliente
+        int idCliente = rs.getInt(col[1]);
+        Cliente c = mapa.cliente(idCliente);
+        if (c == null) {
+            c = new Cliente(
+                    idCliente,
+                    rs.getString(col[7]),
+                    rs.getString(col[8]),
+                    rs.getString(col[9]),
+                    rs.getString(col[10]),
+                    rs.getString(col[11])
+            );
+            mapa.agregar(c);
+        }
+
+        // Tipo: una sola instancia por idTipo (la del catálogo si ya está cargado)
+        int idTipo = rs.getInt(col[2]);
+        TipoObligacion t = mapa.tipo(idTipo);
+        if (t == null) t = CatalogoTipoObligacion.enMemoria(idTipo);
+        if (t == null) {
+            t = new TipoObligacion(
+                    idTipo,
+                    rs.getString(col[12]),
+                    rs.getString(col[13]),
+                    MapeadorFila.periodicidad(rs.getString(col[14]))
+            );
+        }
+        mapa.agregar(t);
+        Periodicidad per = t.getPeriodicidad();
 
         // Campos de obligación
-        int idObl = rs.getInt("idObligacion");
-        String periodo = rs.getString("periodo");           // "AAAA-MM"
-        LocalDate fechaVenc = rs.getDate("fechaVenc").toLocalDate();
-        BigDecimal monto = rs.getBigDecimal("monto");
-        EstadoObligacion estado = dbToEstado(rs.getString("estado"));
+        int idObl = rs.getInt(col[0]);
+        String periodo = rs.getString(col[3]);              // "AAAA-MM"
+        LocalDate fechaVenc = rs.getDate(col[4]).toLocalDate();
+        BigDecimal monto = rs.getBigDecimal(col[5]);
+        EstadoObligacion estado = MapeadorFila.estado(rs.getString(col[6]));
 
         // Instanciar subclase según periodicidad (polimorfismo)
         Obligacion o;
@@ -172,12 +503,5 @@ public class ObligacionDAO implements Repositorio<Obligacion> {
             default:        return "Pendiente";
         }
     }
-
-    private EstadoObligacion dbToEstado(String s) {
-        if ("Vencida".equalsIgnoreCase(s)) return EstadoObligacion.VENCIDA;
-        if ("Pagada".equalsIgnoreCase(s))  return EstadoObligacion.PAGADA;
-        return EstadoObligacion.PENDIENTE;
-    }
 }
 
-
@@ -9,22 +9,93 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class PagoDAO {
 
     private static final String INSERT =
         "INSERT INTO pago (idObligacion, fecha, medio, monto) VALUES (?,?,?,?)";
 
+    // Reclama la obligación: sólo una transacción puede pasarla a 'Pagada'; las demás
+    // esperan el lock de la fila y después no la encuentran (0 filas)
+    private static final String UPDATE_MARCAR_PAGADA =
+        "UPDATE obligacion SET estado='Pagada' WHERE idObligacion=? AND estado<>'Pagada'";
+
+    private static final String EXISTE_OBLIGACION =
+        "SELECT 1 FROM obligacion WHERE idObligacion=?";
+
     private static final String SELECT_BY_OBL =
         "SELECT idPago, idObligacion, fecha, medio, monto FROM pago WHERE idObligacion=?";
 
+    // La obligación la completa quien consulta (ya la tiene)
+    private static final MapeadorFila<Pago> MAPEADOR = new MapeadorFila<>((rs, col) -> {
+        Pago p = new Pago();
+        p.setIdPago(rs.getInt(col[0]));
+        p.setFecha(rs.getDate(col[1]).toLocalDate());
+        p.setMedio(rs.getString(col[2]));
+        p.setMonto(rs.getBigDecimal(col[3]));
+        return p;
+    }, "idPago", "fecha", "medio", "monto");
+
+    /** Resultado de registrar un pago sobre una obligación. */
+    public enum ResultadoRegistro { REGISTRADO, OBLIGACION_INEXISTENTE, YA_PAGADA }
+
+    /**
+     * Registra el pago de la obligación 'idObligacion' en una sola transacción:
+     * bloquea el resumen del cliente (cliente_resumen; ver ResumenClienteDAO), marca la
+     * obligación 'Pagada' con un UPDATE condicional y, si lo logró, inserta el pago
+     * (que recibe su id) y recalcula ese resumen.
+     * Si la obligación no existe o ya estaba pagada no se escribe nada.
+     */
+    public ResultadoRegistro registrar(int idObligacion, Pago p) throws DataAccessException {
+        ResultadoRegistro[] resultado = {ResultadoRegistro.REGISTRADO};
+        try (Connection con = DB.getConnection()) {
+            Lotes.enTransaccion(con, () -> {
+                Set<Integer> clientes = ResumenClienteDAO.clientesDe(con, List.of(idObligacion));
+                ResumenClienteDAO.bloquear(con, clientes);
+                try (PreparedStatement ps = con.prepareStatement(UPDATE_MARCAR_PAGADA)) {
+                    ps.setInt(1, idObligacion);
+                    if (ps.executeUpdate() == 0) {
+                        resultado[0] = existeObligacion(con, idObligacion)
+                                ? ResultadoRegistro.YA_PAGADA
+                                : ResultadoRegistro.OBLIGACION_INEXISTENTE;
+                        return;
+                    }
+                }
+                try (PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                    vincular(ps, idObligacion, p);
+                    ps.executeUpdate();
+
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        if (rs.next()) p.setIdPago(rs.getInt(1));
+                    }
+                }
+                // la obligación dejó de estar pendiente: el resumen del cliente cambia
+                ResumenClienteDAO.recalcular(con, clientes);
+            });
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // UK pago(idObligacion): ya había un pago aunque la obligación no figuraba pagada
+            throw new DataAccessException("La obligación ya tiene un pago registrado.", e);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al registrar el pago.", e);
+        }
+        if (resultado[0] == ResultadoRegistro.REGISTRADO) ObligacionDAO.cambiaronDatos();
+        return resultado[0];
+    }
+
+    private boolean existeObligacion(Connection con, int idObligacion) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(EXISTE_OBLIGACION)) {
+            ps.setInt(1, idObligacion);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
     public void guardar(Pago p) throws DataAccessException {
         try (Connection con = DB.getConnection();
              PreparedStatement ps = con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setInt(1, p.getObligacion().getIdObligacion());
-            ps.setDate(2, Date.valueOf(p.getFecha()));
-            ps.setString(3, p.getMedio());
-            ps.setBigDecimal(4, p.getMonto());
+            vincular(ps, p);
             ps.executeUpdate();
 
             try (ResultSet rs = ps.getGeneratedKeys()) {
@@ -35,19 +106,25 @@ public class PagoDAO {
         }
     }
 
+    /** Registra varios pagos en una sola transacción (INSERT multi-fila por lotes). */
+    public void guardarTodos(List<Pago> pagos) throws DataAccessException {
+        try (Connection con = DB.getConnection()) {
+            Lotes.enTransaccion(con, () -> Lotes.insertar(con, INSERT, pagos, this::vincular, Pago::setIdPago));
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al registrar pagos en lote.", e);
+        }
+    }
+
     public List<Pago> listarPorObligacion(Obligacion o) throws DataAccessException {
         List<Pago> lista = new ArrayList<>();
         try (Connection con = DB.getConnection();
              PreparedStatement ps = con.prepareStatement(SELECT_BY_OBL)) {
             ps.setInt(1, o.getIdObligacion());
             try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFila.Lector<Pago> lector = MAPEADOR.sobre(rs);
                 while (rs.next()) {
-                    Pago p = new Pago();
-                    p.setIdPago(rs.getInt("idPago"));
+                    Pago p = lector.leer();
                     p.setObligacion(o);
-                    p.setFecha(rs.getDate("fecha").toLocalDate());
-                    p.setMedio(rs.getString("medio"));
-                    p.setMonto(rs.getBigDecimal("monto"));
                     lista.add(p);
                 }
             }
@@ -56,5 +133,16 @@ public class PagoDAO {
         }
         return lista;
     }
+
+    private void vincular(PreparedStatement ps, Pago p) throws SQLException {
+        vincular(ps, p.getObligacion().getIdObligacion(), p);
+    }
+
+    private void vincular(PreparedStatement ps, int idObligacion, Pago p) throws SQLException {
+        ps.setInt(1, idObligacion);
+        ps.setDate(2, Date.valueOf(p.getFecha()));
+        ps.setString(3, p.getMedio());
+        ps.setBigDecimal(4, p.getMonto());
+    }
 }
 
@@ -0,0 +1,28 @@
+package sgvic.dao;
+
+import sgvic.excepciones.DataAccessException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Callback para recorrer resultados fila por fila (ver ObligacionDAO.recorrer).
+ * Puede lanzar DataAccessException, así el procesamiento puede usar otros DAO.
+ */
+@FunctionalInterface
+public interface ProcesadorFila<T> {
+
+    void procesar(T fila) throws DataAccessException;
+
+    /**
+     * rs.next() para los recorridos con cursor, que pueden durar mucho: si el hilo fue
+     * interrumpido (una tarea de la UI cancelada) corta con SQLException en vez de
+     * seguir trayendo filas.
+     */
+    static boolean siguiente(ResultSet rs) throws SQLException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new SQLException("Recorrido cancelado.", "70100");
+        }
+        return rs.next();
+    }
+}
@@ -0,0 +1,139 @@
+package sgvic.dao;
+
+import sgvic.config.DB;
+import sgvic.entidades.TotalPorMedio;
+import sgvic.entidades.TotalesObligaciones;
+import sgvic.excepciones.DataAccessException;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reportes de totales calculados en MySQL (GROUP BY): a la JVM llega una fila por
+ * grupo, nunca las obligaciones ni los pagos sueltos.
+ *
+ * Todos filtran por un rango de fechas (vencimiento para obligaciones, fecha de pago
+ * para pagos); null en 'desde' o 'hasta' = sin límite de ese lado. "Hoy" (qué está
+ * vencido) lo pasa quien llama, con el reloj de la JVM como las alertas, no CURDATE().
+ */
+public class ReporteDAO {
+
+    // Montos por situación; 'Pendiente' con fecha pasada ya cuenta como vencido.
+    // Parámetros 1 y 2: hoy
+    private static final String TOTALES =
+            "COUNT(*) AS cantidad, " +
+            "COALESCE(SUM(CASE WHEN o.estado = 'Pendiente' AND o.fechaVenc >= ? THEN o.monto END), 0) AS pendiente, " +
+            "COALESCE(SUM(CASE WHEN o.estado = 'Vencida' " +
+            "                   OR (o.estado = 'Pendiente' AND o.fechaVenc < ?) THEN o.monto END), 0) AS vencido, " +
+            "COALESCE(SUM(CASE WHEN o.estado = 'Pagada' THEN o.monto END), 0) AS pagado ";
+
+    private static final String RANGO_VENC = "WHERE o.fechaVenc BETWEEN ? AND ? ";
+
+    // Por cliente: sale del índice (idCliente, estado, fechaVenc, monto) sin leer las filas
+    private static final String POR_CLIENTE =
+            "SELECT o.idCliente AS clave, c.razon_social AS descripcion, " + TOTALES +
+            "FROM obligacion o JOIN cliente c ON c.idCliente = o.idCliente " + RANGO_VENC +
+            "GROUP BY o.idCliente, c.razon_social ORDER BY c.razon_social";
+
+    private static final String POR_TIPO =
+            "SELECT t.codigo AS clave, t.descripcion AS descripcion, " + TOTALES +
+            "FROM obligacion o JOIN tipoobligacion t ON t.idTipo = o.idTipo " + RANGO_VENC +
+            "GROUP BY t.idTipo, t.codigo, t.descripcion ORDER BY t.codigo";
+
+    private static final String POR_PERIODO =
+            "SELECT o.periodo AS clave, NULL AS descripcion, " + TOTALES +
+            "FROM obligacion o " + RANGO_VENC +
+            "GROUP BY o.periodo ORDER BY o.periodo";
+
+    private static final String POR_MES_VENCIMIENTO =
+            "SELECT DATE_FORMAT(o.fechaVenc, '%Y-%m') AS clave, NULL AS descripcion, " + TOTALES +
+            "FROM obligacion o " + RANGO_VENC +
+            "GROUP BY DATE_FORMAT(o.fechaVenc, '%Y-%m') ORDER BY clave";
+
+    private static final String PAGOS_POR_MEDIO =
+            "SELECT p.medio, COUNT(*) AS cantidad, COALESCE(SUM(p.monto), 0) AS total " +
+            "FROM pago p WHERE p.fecha BETWEEN ? AND ? " +
+            "GROUP BY p.medio ORDER BY total DESC";
+
+    // Límites para "sin filtro" (rango de DATE de MySQL)
+    private static final Date SIN_DESDE = Date.valueOf("1000-01-01");
+    private static final Date SIN_HASTA = Date.valueOf("9999-12-31");
+
+    private static final MapeadorFila<TotalesObligaciones> MAPEADOR_TOTALES = new MapeadorFila<>((rs, col) ->
+            new TotalesObligaciones(
+                    rs.getString(col[0]),
+                    rs.getString(col[1]),
+                    rs.getInt(col[2]),
+                    rs.getBigDecimal(col[3]),
+                    rs.getBigDecimal(col[4]),
+                    rs.getBigDecimal(col[5])),
+            "clave", "descripcion", "cantidad", "pendiente", "vencido", "pagado");
+
+    private static final MapeadorFila<TotalPorMedio> MAPEADOR_MEDIOS = new MapeadorFila<>((rs, col) ->
+            new TotalPorMedio(rs.getString(col[0]), rs.getInt(col[1]), rs.getBigDecimal(col[2])),
+            "medio", "cantidad", "total");
+
+    public List<TotalesObligaciones> totalesPorCliente(LocalDate desde, LocalDate hasta, LocalDate hoy)
+            throws DataAccessException {
+        return totales(POR_CLIENTE, desde, hasta, hoy, "cliente");
+    }
+
+    public List<TotalesObligaciones> totalesPorTipo(LocalDate desde, LocalDate hasta, LocalDate hoy)
+            throws DataAccessException {
+        return totales(POR_TIPO, desde, hasta, hoy, "tipo de obligación");
+    }
+
+    public List<TotalesObligaciones> totalesPorPeriodo(LocalDate desde, LocalDate hasta, LocalDate hoy)
+            throws DataAccessException {
+        return totales(POR_PERIODO, desde, hasta, hoy, "período");
+    }
+
+    /** Agrupado por mes de fechaVenc ("AAAA-MM"). */
+    public List<TotalesObligaciones> totalesPorMesVencimiento(LocalDate desde, LocalDate hasta, LocalDate hoy)
+            throws DataAccessException {
+        return totales(POR_MES_VENCIMIENTO, desde, hasta, hoy, "mes de vencimiento");
+    }
+
+    /** Pagos por medio, filtrados por fecha de pago; el medio con más monto primero. */
+    public List<TotalPorMedio> pagosPorMedio(LocalDate desde, LocalDate hasta) throws DataAccessException {
+        List<TotalPorMedio> lista = new ArrayList<>();
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(PAGOS_POR_MEDIO)) {
+            vincularRango(ps, 1, desde, hasta);
+            try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFila.Lector<TotalPorMedio> lector = MAPEADOR_MEDIOS.sobre(rs);
+                while (rs.next()) lista.add(lector.leer());
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al calcular los pagos por medio.", e);
+        }
+        return lista;
+    }
+
+    private List<TotalesObligaciones> totales(String sql, LocalDate desde, LocalDate hasta, LocalDate hoy,
+                                              String agrupadoPor) throws DataAccessException {
+        List<TotalesObligaciones> lista = new ArrayList<>();
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setDate(1, Date.valueOf(hoy));
+            ps.setDate(2, Date.valueOf(hoy));
+            vincularRango(ps, 3, desde, hasta);
+            try (ResultSet rs = ps.executeQuery()) {
+                MapeadorFila.Lector<TotalesObligaciones> lector = MAPEADOR_TOTALES.sobre(rs);
+                while (rs.next()) lista.add(lector.leer());
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al calcular los totales por " + agrupadoPor + ".", e);
+        }
+        return lista;
+    }
+
+    // Parámetros 'primero' y 'primero' + 1
+    private static void vincularRango(PreparedStatement ps, int primero, LocalDate desde, LocalDate hasta)
+            throws SQLException {
+        ps.setDate(primero, desde != null ? Date.valueOf(desde) : SIN_DESDE);
+        ps.setDate(primero + 1, hasta != null ? Date.valueOf(hasta) : SIN_HASTA);
+    }
+}
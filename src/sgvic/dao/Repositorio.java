@@ -13,5 +13,11 @@ public interface Repositorio<T> {
     void guardar(T entidad) throws DataAccessException;      // CREATE o UPDATE
     T buscarPorId(int id) throws DataAccessException;        // READ (por ID)
     List<T> listar() throws DataAccessException;             // READ (todos)
+    List<T> listarPagina(int despuesDeId, int tamanio)        // READ (página por id, keyset:
+            throws DataAccessException;                       //   ids > despuesDeId, 0 = primera)
     void eliminar(int id) throws DataAccessException;        // DELETE
+    void guardarTodos(List<T> entidades)                      // CREATE o UPDATE en lote
+            throws DataAccessException;                       //   (una transacción)
+    void eliminarTodos(List<Integer> ids)                     // DELETE en lote
+            throws DataAccessException;                       //   (una transacción)
 }
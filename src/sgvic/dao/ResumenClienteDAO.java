@@ -0,0 +1,225 @@
+package sgvic.dao;
+
+import sgvic.config.DB;
+import sgvic.entidades.ResumenCliente;
+import sgvic.excepciones.DataAccessException;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * DAO del modelo de lectura 'cliente_resumen': una fila por cliente con sus obligaciones
+ * abiertas, vencidas, total pendiente y próximo vencimiento (migración V003).
+ *
+ * Las pantallas leen una fila por cliente en vez de traer todas sus obligaciones y sumar.
+ * La tabla se mantiene desde las escrituras: ObligacionDAO y PagoDAO llaman a recalcular
+ * con su misma conexión, dentro de su transacción, así el resumen nunca queda a medias.
+ * Cada recálculo es de un cliente y sale del índice (idCliente, estado, fechaVenc, monto).
+ *
+ * Orden de bloqueos: quien escribe bloquea PRIMERO las filas de cliente_resumen de los
+ * clientes afectados (bloquear, por idCliente ascendente) y recién después toca
+ * 'obligacion'. El recálculo lee las obligaciones del cliente con bloqueo compartido;
+ * si dos terminales pagaran obligaciones del mismo cliente tomando los bloqueos en
+ * otro orden, bajo REPEATABLE READ se trabarían entre sí (deadlock).
+ *
+ * "Hoy" es la fecha de la JVM (LocalDate.now(), la misma que usan las alertas), no
+ * CURDATE(): el servidor puede estar en otra zona horaria.
+ *
+ * Lo único que cambia sin escrituras es el paso de los días: una fila cuyo próximo
+ * vencimiento ya pasó tiene 'vencidas' vieja y se recalcula antes de leer.
+ */
+public class ResumenClienteDAO {
+
+    // Crea la fila del cliente si no estaba y la deja bloqueada hasta el fin de la transacción
+    private static final String BLOQUEAR =
+            "INSERT INTO cliente_resumen (idCliente) VALUES (?) ON DUPLICATE KEY UPDATE idCliente = idCliente";
+
+    private static final String BLOQUEAR_TODOS =
+            "SELECT idCliente FROM cliente_resumen ORDER BY idCliente FOR UPDATE";
+
+    // Recalcula la fila de un cliente (la crea si no estaba). Parámetros: hoy, hoy, id, id
+    private static final String RECALCULAR =
+            "INSERT INTO cliente_resumen (idCliente, abiertas, vencidas, totalPendiente, proximoVenc) " +
+            "SELECT * FROM (" +
+            "  SELECT ? AS idCliente," +
+            "         COUNT(*) AS abiertas," +
+            "         COALESCE(SUM(estado = 'Vencida' OR fechaVenc < ?), 0) AS vencidas," +
+            "         COALESCE(SUM(monto), 0) AS totalPendiente," +
+            "         MIN(CASE WHEN estado = 'Pendiente' AND fechaVenc >= ? THEN fechaVenc END) AS proximoVenc" +
+            "  FROM obligacion WHERE idCliente = ? AND estado IN ('Pendiente','Vencida')" +
+            ") AS r " +
+            "ON DUPLICATE KEY UPDATE abiertas = r.abiertas, vencidas = r.vencidas, " +
+            "                        totalPendiente = r.totalPendiente, proximoVenc = r.proximoVenc";
+
+    // Todos los clientes de una vez (reconstruir): mismo cálculo agrupado. Parámetros: hoy, hoy
+    private static final String RECONSTRUIR =
+            "INSERT INTO cliente_resumen (idCliente, abiertas, vencidas, totalPendiente, proximoVenc) " +
+            "SELECT * FROM (" +
+            "  SELECT c.idCliente," +
+            "         COUNT(o.idObligacion) AS abiertas," +
+            "         COALESCE(SUM(o.estado = 'Vencida' OR o.fechaVenc < ?), 0) AS vencidas," +
+            "         COALESCE(SUM(o.monto), 0) AS totalPendiente," +
+            "         MIN(CASE WHEN o.estado = 'Pendiente' AND o.fechaVenc >= ? THEN o.fechaVenc END) AS proximoVenc" +
+            "  FROM cliente c" +
+            "  LEFT JOIN obligacion o ON o.idCliente = c.idCliente AND o.estado IN ('Pendiente','Vencida')" +
+            "  GROUP BY c.idCliente" +
+            ") AS r " +
+            "ON DUPLICATE KEY UPDATE abiertas = r.abiertas, vencidas = r.vencidas, " +
+            "                        totalPendiente = r.totalPendiente, proximoVenc = r.proximoVenc";
+
+    private static final String SELECT_VENCIDOS =
+            "SELECT idCliente FROM cliente_resumen WHERE proximoVenc < ?";
+
+    // Clientes sin fila (nunca tuvieron obligaciones) salen en cero
+    private static final String SELECT_BASE =
+            "SELECT c.idCliente, c.razon_social, c.cuit, " +
+            "       COALESCE(r.abiertas, 0) AS abiertas, COALESCE(r.vencidas, 0) AS vencidas, " +
+            "       COALESCE(r.totalPendiente, 0) AS totalPendiente, r.proximoVenc " +
+            "FROM cliente c LEFT JOIN cliente_resumen r ON r.idCliente = c.idCliente ";
+
+    private static final String SELECT_ALL = SELECT_BASE + "ORDER BY c.idCliente";
+    private static final String SELECT_BY_CLIENTE = SELECT_BASE + "WHERE c.idCliente=?";
+
+    private static final MapeadorFila<ResumenCliente> MAPEADOR = new MapeadorFila<>((rs, col) -> {
+        Date proximo = rs.getDate(col[6]);
+        return new ResumenCliente(
+                rs.getInt(col[0]),
+                rs.getString(col[1]),
+                rs.getString(col[2]),
+                rs.getInt(col[3]),
+                rs.getInt(col[4]),
+                rs.getBigDecimal(col[5]),
+                proximo != null ? proximo.toLocalDate() : null);
+    }, "idCliente", "razon_social", "cuit", "abiertas", "vencidas", "totalPendiente", "proximoVenc");
+
+    /** Resumen de un cliente (null si el cliente no existe). */
+    public ResumenCliente buscarPorCliente(int idCliente) throws DataAccessException {
+        refrescarVencidos();
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(SELECT_BY_CLIENTE)) {
+            ps.setInt(1, idCliente);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? MAPEADOR.sobre(rs).leer() : null;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al leer el resumen del cliente.", e);
+        }
+    }
+
+    /** Resumen de todos los clientes, uno por fila. */
+    public List<ResumenCliente> listar() throws DataAccessException {
+        refrescarVencidos();
+        List<ResumenCliente> lista = new ArrayList<>();
+        try (Connection con = DB.getConnection();
+             PreparedStatement ps = con.prepareStatement(SELECT_ALL);
+             ResultSet rs = ps.executeQuery()) {
+            MapeadorFila.Lector<ResumenCliente> lector = MAPEADOR.sobre(rs);
+            while (rs.next()) lista.add(lector.leer());
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al listar los resúmenes de clientes.", e);
+        }
+        return lista;
+    }
+
+    /**
+     * Vuelve a calcular el resumen de todos los clientes desde las obligaciones, en una
+     * transacción. Para reparar la tabla (ej.: después de cargar datos por fuera de la app).
+     * Devuelve las filas afectadas que informa MySQL (1 por fila nueva, 2 por fila que cambió).
+     */
+    public int reconstruir() throws DataAccessException {
+        int[] filas = {0};
+        try (Connection con = DB.getConnection()) {
+            Lotes.enTransaccion(con, () -> {
+                // Todas las filas primero, en orden, como bloquear() en las escrituras
+                try (PreparedStatement ps = con.prepareStatement(BLOQUEAR_TODOS);
+                     ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) { }
+                }
+                Date hoy = Date.valueOf(LocalDate.now());
+                try (PreparedStatement ps = con.prepareStatement(RECONSTRUIR)) {
+                    ps.setDate(1, hoy);
+                    ps.setDate(2, hoy);
+                    filas[0] = ps.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al reconstruir los resúmenes de clientes.", e);
+        }
+        return filas[0];
+    }
+
+    /** Recalcula las filas cuyo próximo vencimiento ya pasó (sus 'vencidas' quedaron viejas). */
+    public void refrescarVencidos() throws DataAccessException {
+        try (Connection con = DB.getConnection()) {
+            List<Integer> viejos = new ArrayList<>();
+            try (PreparedStatement ps = con.prepareStatement(SELECT_VENCIDOS)) {
+                ps.setDate(1, Date.valueOf(LocalDate.now()));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) viejos.add(rs.getInt(1));
+                }
+            }
+            if (!viejos.isEmpty()) {
+                Lotes.enTransaccion(con, () -> {
+                    bloquear(con, viejos);
+                    recalcular(con, viejos);
+                });
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error al actualizar los resúmenes de clientes.", e);
+        }
+    }
+
+    // === Mantenimiento desde las escrituras (misma conexión y transacción) ===
+
+    /**
+     * Bloquea (creándolas si faltan) las filas de resumen de 'idsCliente', por idCliente
+     * ascendente, hasta el fin de la transacción. Llamar ANTES de tocar 'obligacion':
+     * así las escrituras sobre un mismo cliente esperan su turno en vez de trabarse.
+     */
+    static void bloquear(Connection con, Collection<Integer> idsCliente) throws SQLException {
+        if (idsCliente.isEmpty()) return;
+        Lotes.actualizar(con, BLOQUEAR, new ArrayList<>(new TreeSet<>(idsCliente)), (ps, id) -> ps.setInt(1, id));
+    }
+
+    /**
+     * Recalcula el resumen de cada cliente de 'idsCliente' (en un lote), con la fecha de
+     * hoy de la JVM. Las filas ya tienen que estar bloqueadas (bloquear).
+     */
+    static void recalcular(Connection con, Collection<Integer> idsCliente) throws SQLException {
+        if (idsCliente.isEmpty()) return;
+        Date hoy = Date.valueOf(LocalDate.now());
+        Lotes.actualizar(con, RECALCULAR, new ArrayList<>(new TreeSet<>(idsCliente)), (ps, id) -> {
+            ps.setInt(1, id);
+            ps.setDate(2, hoy);
+            ps.setDate(3, hoy);
+            ps.setInt(4, id);
+        });
+    }
+
+    /**
+     * Clientes dueños de las obligaciones 'idsObligacion', leídos ANTES de modificarlas o
+     * borrarlas (un UPDATE puede cambiar el cliente; los dos resúmenes se recalculan).
+     */
+    static Set<Integer> clientesDe(Connection con, List<Integer> idsObligacion) throws SQLException {
+        Set<Integer> clientes = new LinkedHashSet<>();
+        for (int desde = 0; desde < idsObligacion.size(); desde += Lotes.TAMANIO) {
+            List<Integer> lote = idsObligacion.subList(desde, Math.min(desde + Lotes.TAMANIO, idsObligacion.size()));
+            String sql = "SELECT DISTINCT idCliente FROM obligacion WHERE idObligacion IN ("
+                    + String.join(",", Collections.nCopies(lote.size(), "?")) + ")";
+            try (PreparedStatement ps = con.prepareStatement(sql)) {
+                for (int i = 0; i < lote.size(); i++) ps.setInt(i + 1, lote.get(i));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) clientes.add(rs.getInt(1));
+                }
+            }
+        }
+        return clientes;
+    }
+}
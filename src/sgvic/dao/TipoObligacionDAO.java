@@ -2,7 +2,6 @@ package sgvic.dao;
 
 import sgvic.config.DB;
 import sgvic.entidades.TipoObligacion;
-import sgvic.entidades.TipoObligacion.Periodicidad;
 import sgvic.excepciones.DataAccessException;
 
 import java.sql.*;
@@ -14,18 +13,20 @@ public class TipoObligacionDAO {
     private static final String SELECT_BY_ID =
             "SELECT idTipo, codigo, descripcion, periodicidad FROM tipoobligacion WHERE idTipo=?";
 
+    static final MapeadorFila<TipoObligacion> MAPEADOR = new MapeadorFila<>((rs, col) -> new TipoObligacion(
+            rs.getInt(col[0]),
+            rs.getString(col[1]),
+            rs.getString(col[2]),
+            MapeadorFila.periodicidad(rs.getString(col[3]))   // Mensual/Anual/Otra → enum
+    ), "idTipo", "codigo", "descripcion", "periodicidad");
+
     public TipoObligacion buscarPorId(int idTipo) throws DataAccessException {
         try (Connection con = DB.getConnection();
              PreparedStatement ps = con.prepareStatement(SELECT_BY_ID)) {
             ps.setInt(1, idTipo);
             try (ResultSet rs = ps.executeQuery()) {
                 if (!rs.next()) return null;
-                return new TipoObligacion(
-                        rs.getInt("idTipo"),
-                        rs.getString("codigo"),
-                        rs.getString("descripcion"),
-                        Periodicidad.valueOf(rs.getString("periodicidad").toUpperCase()) // Mensual/Anual/Otra → enum
-                );
+                return MAPEADOR.sobre(rs).leer();
             }
         } catch (SQLException e) {
             throw new DataAccessException("Error al buscar TipoObligacion por ID.", e);
@@ -37,14 +38,8 @@ public class TipoObligacionDAO {
     try (Connection con = DB.getConnection();
          PreparedStatement ps = con.prepareStatement(sql);
          ResultSet rs = ps.executeQuery()) {
-        while (rs.next()) {
-            lista.add(new TipoObligacion(
-                    rs.getInt("idTipo"),
-                    rs.getString("codigo"),
-                    rs.getString("descripcion"),
-                    Periodicidad.valueOf(rs.getString("periodicidad").toUpperCase())
-            ));
-        }
+        MapeadorFila.Lector<TipoObligacion> lector = MAPEADOR.sobre(rs);
+        while (rs.next()) lista.add(lector.leer());
     } catch (SQLException e) {
         throw new DataAccessException("Error al listar tipos de obligación.", e);
     }
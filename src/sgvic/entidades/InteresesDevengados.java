@@ -0,0 +1,52 @@
+package sgvic.entidades;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Intereses por mora devengados a una fecha sobre un conjunto de obligaciones, con el
+ * total general y los totales por cliente (idCliente) y por tipo (idTipo).
+ * Lo arma MotorIntereses; los montos tienen escala 2, igual que calcularInteres.
+ */
+public class InteresesDevengados {
+
+    private final LocalDate fecha;
+    private final int obligaciones;          // obligaciones recorridas
+    private final int conInteres;            // de esas, las que devengan algo
+    private final BigDecimal total;
+    private final Map<Integer, BigDecimal> porCliente;
+    private final Map<Integer, BigDecimal> porTipo;
+
+    public InteresesDevengados(LocalDate fecha, int obligaciones, int conInteres, BigDecimal total,
+                               Map<Integer, BigDecimal> porCliente, Map<Integer, BigDecimal> porTipo) {
+        this.fecha = fecha;
+        this.obligaciones = obligaciones;
+        this.conInteres = conInteres;
+        this.total = total;
+        this.porCliente = porCliente;
+        this.porTipo = porTipo;
+    }
+
+    // === Getters ===
+    public LocalDate getFecha() { return fecha; }
+    public int getObligaciones() { return obligaciones; }
+    public int getConInteres() { return conInteres; }
+    public BigDecimal getTotal() { return total; }
+
+    /** idCliente → interés (solo clientes con interés distinto de cero; inmodificable). */
+    public Map<Integer, BigDecimal> getPorCliente() { return porCliente; }
+
+    /** idTipo → interés (solo tipos con interés distinto de cero; inmodificable). */
+    public Map<Integer, BigDecimal> getPorTipo() { return porTipo; }
+
+    @Override
+    public String toString() {
+        return "InteresesDevengados{fecha=" + fecha +
+                ", obligaciones=" + obligaciones +
+                ", conInteres=" + conInteres +
+                ", total=" + total +
+                ", clientes=" + porCliente.size() +
+                ", tipos=" + porTipo.size() + '}';
+    }
+}
@@ -8,6 +8,11 @@ import java.time.temporal.ChronoUnit;
 /** Obligación de periodicidad mensual (ej.: IVA, MON, SIC). */
 public class ObligacionMensual extends Obligacion {
 
+    /** Tasa diaria por mora en diezmilésimos: 5 = 0.05% diario (didáctico). La usa también MotorIntereses. */
+    public static final int TASA_DIARIA_DIEZMILESIMOS = 5;
+
+    private static final BigDecimal TASA_DIARIA = BigDecimal.valueOf(TASA_DIARIA_DIEZMILESIMOS, 4);
+
     public ObligacionMensual() { }
 
     public ObligacionMensual(Cliente c, TipoObligacion t, String periodo,
@@ -19,8 +24,7 @@ public class ObligacionMensual extends Obligacion {
     public BigDecimal calcularInteres(LocalDate hoy) {
         if (!estaVencida(hoy)) return BigDecimal.ZERO;
         long dias = ChronoUnit.DAYS.between(getFechaVenc(), hoy);
-        BigDecimal tasaDiaria = new BigDecimal("0.0005"); // 0.05% diario (didáctico)
-        return getMonto().multiply(tasaDiaria).multiply(BigDecimal.valueOf(dias))
+        return getMonto().multiply(TASA_DIARIA).multiply(BigDecimal.valueOf(dias))
                 .setScale(2, RoundingMode.HALF_UP);
     }
 }
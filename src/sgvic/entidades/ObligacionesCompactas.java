@@ -0,0 +1,227 @@
+package sgvic.entidades;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Obligaciones de sólo lectura guardadas en arreglos de primitivos, una posición por
+ * obligación, para procesos sobre muchas filas (intereses, recorridos, totales).
+ *
+ * Por obligación ocupa unos 29 bytes, contra varios cientos de una Obligacion con su
+ * String, LocalDate y BigDecimal:
+ *  - id, idCliente, idTipo: int
+ *  - fechaVenc: int, días desde 1970-01-01 (LocalDate.toEpochDay)
+ *  - periodo: int AAAAMM ("2025-03" → 202503)
+ *  - monto: long en centavos
+ *  - estado: byte, ordinal de EstadoObligacion + ANUAL si es ObligacionAnual
+ *
+ * Se arma con desde(lista) o, sin pasar por las entidades, con una Carga (ver
+ * ObligacionDAO.cargarCompactas). obligacion(i, ...) vuelve a armar la entidad.
+ */
+public final class ObligacionesCompactas {
+
+    /** fechaVenc nula. */
+    public static final int SIN_FECHA = Integer.MIN_VALUE;
+    /** Período nulo o sin formato AAAA-MM (el texto original se guarda aparte). */
+    public static final int SIN_PERIODO = 0;
+
+    // Bit de 'estado' que indica ObligacionAnual (los dos de abajo son el EstadoObligacion)
+    private static final byte ANUAL = 0b100;
+    private static final byte MASCARA_ESTADO = 0b011;
+
+    private static final EstadoObligacion[] ESTADOS = EstadoObligacion.values();
+
+    private final int cantidad;
+    private final int[] ids;
+    private final int[] idsCliente;
+    private final int[] idsTipo;
+    private final int[] fechasVenc;
+    private final int[] periodos;
+    private final long[] montos;
+    private final byte[] estados;
+    private final Map<Integer, String> periodosSinFormato;   // posición → texto (casi siempre vacío)
+
+    private ObligacionesCompactas(Carga c) {
+        cantidad = c.cantidad;
+        ids = Arrays.copyOf(c.ids, cantidad);
+        idsCliente = Arrays.copyOf(c.idsCliente, cantidad);
+        idsTipo = Arrays.copyOf(c.idsTipo, cantidad);
+        fechasVenc = Arrays.copyOf(c.fechasVenc, cantidad);
+        periodos = Arrays.copyOf(c.periodos, cantidad);
+        montos = Arrays.copyOf(c.montos, cantidad);
+        estados = Arrays.copyOf(c.estados, cantidad);
+        periodosSinFormato = c.periodosSinFormato.isEmpty() ? Map.of() : new HashMap<>(c.periodosSinFormato);
+    }
+
+    /**
+     * Versión compacta de 'obligaciones'. El monto es obligatorio y no puede tener más
+     * de 2 decimales (como la columna DECIMAL(15,2)): si no, IllegalArgumentException.
+     */
+    public static ObligacionesCompactas desde(List<? extends Obligacion> obligaciones) {
+        Carga carga = new Carga(obligaciones.size());
+        for (Obligacion o : obligaciones) {
+            carga.agregar(
+                    o.getIdObligacion(),
+                    o.getCliente() != null ? o.getCliente().getIdCliente() : 0,
+                    o.getTipo() != null ? o.getTipo().getIdTipo() : 0,
+                    o.getPeriodo(),
+                    o.getFechaVenc() != null ? (int) o.getFechaVenc().toEpochDay() : SIN_FECHA,
+                    centavos(o.getMonto()),
+                    o.getEstado(),
+                    o instanceof ObligacionAnual);
+        }
+        return carga.terminar();
+    }
+
+    // === Lectura por posición (0 .. cantidad-1) ===
+
+    public int cantidad() { return cantidad; }
+
+    public int getIdObligacion(int i) { return ids[i]; }
+    public int getIdCliente(int i) { return idsCliente[i]; }
+    public int getIdTipo(int i) { return idsTipo[i]; }
+
+    /** Vencimiento en días desde 1970-01-01 (SIN_FECHA si no tiene). */
+    public int getFechaVencDias(int i) { return fechasVenc[i]; }
+
+    /** Período como AAAAMM (SIN_PERIODO si no tiene o no es AAAA-MM; ver getPeriodo). */
+    public int getPeriodoNumero(int i) { return periodos[i]; }
+
+    public long getMontoCentavos(int i) { return montos[i]; }
+
+    public EstadoObligacion getEstado(int i) { return ESTADOS[estados[i] & MASCARA_ESTADO]; }
+
+    public boolean esAnual(int i) { return (estados[i] & ANUAL) != 0; }
+
+    public LocalDate getFechaVenc(int i) {
+        return fechasVenc[i] != SIN_FECHA ? LocalDate.ofEpochDay(fechasVenc[i]) : null;
+    }
+
+    public BigDecimal getMonto(int i) { return BigDecimal.valueOf(montos[i], 2); }
+
+    /** Período como texto "AAAA-MM", igual que en la entidad. */
+    public String getPeriodo(int i) {
+        int p = periodos[i];
+        if (p == SIN_PERIODO) return periodosSinFormato.get(i);
+        return String.format("%04d-%02d", p / 100, p % 100);
+    }
+
+    /** Misma regla que Obligacion.estaVencida, con 'hoy' en días desde 1970-01-01. */
+    public boolean estaVencida(int i, long hoyDias) {
+        return (estados[i] & MASCARA_ESTADO) != EstadoObligacion.PAGADA.ordinal()
+                && fechasVenc[i] != SIN_FECHA && fechasVenc[i] < hoyDias;
+    }
+
+    /**
+     * Vuelve a armar la obligación de la posición 'i' (ObligacionAnual u ObligacionMensual).
+     * Cliente y tipo se piden por id: con un MapaIdentidad o un catálogo se comparten.
+     */
+    public Obligacion obligacion(int i, IntFunction<Cliente> clientes, IntFunction<TipoObligacion> tipos) {
+        Cliente c = clientes.apply(idsCliente[i]);
+        TipoObligacion t = tipos.apply(idsTipo[i]);
+        Obligacion o = esAnual(i)
+                ? new ObligacionAnual(c, t, getPeriodo(i), getFechaVenc(i), getMonto(i), getEstado(i))
+                : new ObligacionMensual(c, t, getPeriodo(i), getFechaVenc(i), getMonto(i), getEstado(i));
+        o.setIdObligacion(ids[i]);
+        return o;
+    }
+
+    /** Bytes de los arreglos (sin los encabezados de objeto), para comparar con las entidades. */
+    public long bytesAproximados() {
+        return cantidad * (5L * Integer.BYTES + Long.BYTES + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "ObligacionesCompactas{cantidad=" + cantidad + '}';
+    }
+
+    // "2025-03" → 202503; cualquier otra cosa → SIN_PERIODO
+    static int periodoNumero(String periodo) {
+        if (periodo == null || periodo.length() != 7 || periodo.charAt(4) != '-') return SIN_PERIODO;
+        int numero = 0;
+        for (int i = 0; i < 7; i++) {
+            if (i == 4) continue;
+            char ch = periodo.charAt(i);
+            if (ch < '0' || ch > '9') return SIN_PERIODO;
+            numero = numero * 10 + (ch - '0');
+        }
+        int mes = numero % 100;
+        return mes >= 1 && mes <= 12 && numero / 100 > 0 ? numero : SIN_PERIODO;
+    }
+
+    private static long centavos(BigDecimal monto) {
+        if (monto == null) throw new IllegalArgumentException("Obligación sin monto.");
+        try {
+            return monto.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Monto con más de 2 decimales o fuera de rango: " + monto, e);
+        }
+    }
+
+    /**
+     * Carga de a una obligación, sin crear entidades (arreglos que crecen al doble).
+     * terminar() devuelve las ObligacionesCompactas con los arreglos ya recortados.
+     */
+    public static final class Carga {
+        private int cantidad;
+        private int[] ids;
+        private int[] idsCliente;
+        private int[] idsTipo;
+        private int[] fechasVenc;
+        private int[] periodos;
+        private long[] montos;
+        private byte[] estados;
+        private final Map<Integer, String> periodosSinFormato = new HashMap<>();
+
+        public Carga(int capacidadInicial) {
+            int n = Math.max(16, capacidadInicial);
+            ids = new int[n];
+            idsCliente = new int[n];
+            idsTipo = new int[n];
+            fechasVenc = new int[n];
+            periodos = new int[n];
+            montos = new long[n];
+            estados = new byte[n];
+        }
+
+        /**
+         * Agrega una obligación. 'fechaVencDias' en días desde 1970-01-01 (SIN_FECHA si no
+         * tiene); 'periodo' como en la entidad ("AAAA-MM").
+         */
+        public void agregar(int id, int idCliente, int idTipo, String periodo, int fechaVencDias,
+                            long montoCentavos, EstadoObligacion estado, boolean anual) {
+            if (cantidad == ids.length) agrandar();
+            int i = cantidad++;
+            ids[i] = id;
+            idsCliente[i] = idCliente;
+            idsTipo[i] = idTipo;
+            fechasVenc[i] = fechaVencDias;
+            periodos[i] = periodoNumero(periodo);
+            if (periodos[i] == SIN_PERIODO && periodo != null) periodosSinFormato.put(i, periodo);
+            montos[i] = montoCentavos;
+            EstadoObligacion e = estado != null ? estado : EstadoObligacion.PENDIENTE;
+            estados[i] = (byte) (e.ordinal() | (anual ? ANUAL : 0));
+        }
+
+        public ObligacionesCompactas terminar() {
+            return new ObligacionesCompactas(this);
+        }
+
+        private void agrandar() {
+            int n = ids.length * 2;
+            ids = Arrays.copyOf(ids, n);
+            idsCliente = Arrays.copyOf(idsCliente, n);
+            idsTipo = Arrays.copyOf(idsTipo, n);
+            fechasVenc = Arrays.copyOf(fechasVenc, n);
+            periodos = Arrays.copyOf(periodos, n);
+            montos = Arrays.copyOf(montos, n);
+            estados = Arrays.copyOf(estados, n);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package sgvic.entidades;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Situación de deuda de un cliente, tal como la guarda la tabla 'cliente_resumen'
+ * (una fila por cliente, mantenida por ResumenClienteDAO).
+ *
+ * Es un dato de sólo lectura: se arma al consultar y no se guarda desde acá.
+ */
+public class ResumenCliente {
+
+    private final int idCliente;
+    private final String razonSocial;
+    private final String cuit;
+    private final int abiertas;             // obligaciones no pagadas
+    private final int vencidas;             // no pagadas con el vencimiento ya pasado
+    private final BigDecimal totalPendiente;
+    private final LocalDate proximoVenc;    // null si no hay vencimientos por venir
+
+    public ResumenCliente(int idCliente, String razonSocial, String cuit, int abiertas, int vencidas,
+                          BigDecimal totalPendiente, LocalDate proximoVenc) {
+        this.idCliente = idCliente;
+        this.razonSocial = razonSocial;
+        this.cuit = cuit;
+        this.abiertas = abiertas;
+        this.vencidas = vencidas;
+        this.totalPendiente = totalPendiente;
+        this.proximoVenc = proximoVenc;
+    }
+
+    // === Getters ===
+    public int getIdCliente() { return idCliente; }
+    public String getRazonSocial() { return razonSocial; }
+    public String getCuit() { return cuit; }
+    public int getAbiertas() { return abiertas; }
+    public int getVencidas() { return vencidas; }
+    public BigDecimal getTotalPendiente() { return totalPendiente; }
+    public LocalDate getProximoVenc() { return proximoVenc; }
+
+    @Override
+    public String toString() {
+        return "ResumenCliente{idCliente=" + idCliente +
+                ", abiertas=" + abiertas +
+                ", vencidas=" + vencidas +
+                ", totalPendiente=" + totalPendiente +
+                ", proximoVenc=" + proximoVenc + '}';
+    }
+}
@@ -0,0 +1,32 @@
+package sgvic.entidades;
+
+import java.math.BigDecimal;
+
+/**
+ * Una fila del reporte de pagos por medio de pago (VEP, Plan de Pago, Tarjeta...):
+ * cantidad de pagos y monto total, sumados en la BD (ver ReporteDAO).
+ */
+public class TotalPorMedio {
+
+    private final String medio;
+    private final int cantidad;
+    private final BigDecimal total;
+
+    public TotalPorMedio(String medio, int cantidad, BigDecimal total) {
+        this.medio = medio;
+        this.cantidad = cantidad;
+        this.total = total;
+    }
+
+    // === Getters ===
+    public String getMedio() { return medio; }
+    public int getCantidad() { return cantidad; }
+    public BigDecimal getTotal() { return total; }
+
+    @Override
+    public String toString() {
+        return "TotalPorMedio{medio='" + medio + '\'' +
+                ", cantidad=" + cantidad +
+                ", total=" + total + '}';
+    }
+}
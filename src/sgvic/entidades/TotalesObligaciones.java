@@ -0,0 +1,51 @@
+package sgvic.entidades;
+
+import java.math.BigDecimal;
+
+/**
+ * Una fila de un reporte de obligaciones agrupado (por cliente, tipo, período o mes
+ * de vencimiento): los montos ya vienen sumados desde la BD (ver ReporteDAO).
+ *
+ *  - pendiente: no pagadas que todavía no vencieron
+ *  - vencido:   no pagadas con el vencimiento ya pasado (o marcadas 'Vencida')
+ *  - pagado:    obligaciones en estado 'Pagada'
+ */
+public class TotalesObligaciones {
+
+    private final String clave;         // idCliente, código de tipo, "AAAA-MM"...
+    private final String descripcion;   // razón social, descripción del tipo (o null)
+    private final int cantidad;
+    private final BigDecimal pendiente;
+    private final BigDecimal vencido;
+    private final BigDecimal pagado;
+
+    public TotalesObligaciones(String clave, String descripcion, int cantidad,
+                               BigDecimal pendiente, BigDecimal vencido, BigDecimal pagado) {
+        this.clave = clave;
+        this.descripcion = descripcion;
+        this.cantidad = cantidad;
+        this.pendiente = pendiente;
+        this.vencido = vencido;
+        this.pagado = pagado;
+    }
+
+    // === Getters ===
+    public String getClave() { return clave; }
+    public String getDescripcion() { return descripcion; }
+    public int getCantidad() { return cantidad; }
+    public BigDecimal getPendiente() { return pendiente; }
+    public BigDecimal getVencido() { return vencido; }
+    public BigDecimal getPagado() { return pagado; }
+
+    /** pendiente + vencido + pagado. */
+    public BigDecimal getTotal() { return pendiente.add(vencido).add(pagado); }
+
+    @Override
+    public String toString() {
+        return "TotalesObligaciones{clave='" + clave + '\'' +
+                ", cantidad=" + cantidad +
+                ", pendiente=" + pendiente +
+                ", vencido=" + vencido +
+                ", pagado=" + pagado + '}';
+    }
+}
@@ -1,10 +1,8 @@
 package sgvic.servicios;
 
+import sgvic.config.Traza;
 import sgvic.dao.AlertaDAO;
-import sgvic.dao.ObligacionDAO;
 import sgvic.entidades.Alerta;
-import sgvic.entidades.EstadoObligacion;
-import sgvic.entidades.Obligacion;
 import sgvic.excepciones.DataAccessException;
 import sgvic.excepciones.DomainException;
 
@@ -12,6 +10,7 @@ import java.time.LocalDate;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Lógica de alertas:
@@ -20,52 +19,77 @@ import java.util.List;
 public class AlertaService {
 
     private final AlertaDAO alertaDAO = new AlertaDAO();
-    private final ObligacionDAO obligacionDAO = new ObligacionDAO();
 
     /**
      * Genera alertas para:
      *  a) obligaciones VENCIDAS (fechaVenc < hoy, estado != PAGADA)
      *  b) obligaciones que vencen en <= diasAviso (inclusive), estado != PAGADA
-     * Evita duplicados verificando (idObligacion, fecha=hoy) en la tabla 'alerta'.
+     * Evita duplicados por (idObligacion, fecha=hoy) en la tabla 'alerta'.
+     * Todo se resuelve en la BD con un INSERT ... SELECT (ver AlertaDAO.generarDelDia).
      * Devuelve una Queue con las nuevas alertas generadas (FIFO).
      */
+    @SuppressWarnings("try")
     public Deque<Alerta> generarPendientes(LocalDate hoy, int diasAviso) throws DataAccessException {
         if (hoy == null) hoy = LocalDate.now();
         if (diasAviso < 0) diasAviso = 0;
 
-        List<Obligacion> todas = obligacionDAO.listar();
-        Deque<Alerta> cola = new ArrayDeque<>();
-
-        for (Obligacion o : todas) {
-            if (o.getEstado() == EstadoObligacion.PAGADA) continue;
-            if (o.getFechaVenc() == null) continue;
-
-            boolean vencida = o.getFechaVenc().isBefore(hoy);
-            boolean porVencer = !vencida && !o.getFechaVenc().isAfter(hoy.plusDays(diasAviso));
+        try (Traza.Ambito t = Traza.abrir("AlertaService.generarPendientes")) {
+            return new ArrayDeque<>(alertaDAO.generarDelDia(hoy, hoy.plusDays(diasAviso)));
+        }
+    }
 
-            if (vencida || porVencer) {
-                // evitamos duplicar alerta “del día” (fecha = hoy)
-                if (!alertaDAO.existePara(o.getIdObligacion(), hoy)) {
-                    Alerta a = new Alerta(o, hoy, false);
-                    alertaDAO.guardar(a);
-                    cola.add(a);
-                }
-            }
+    /**
+     * Página de alertas no leídas (con su obligación), a continuación de 'ultima'
+     * (la última ya mostrada; null para la primera página).
+     */
+    @SuppressWarnings("try")
+    public List<Alerta> listarPendientesPagina(Alerta ultima, int tamanio) throws DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("AlertaService.listarPendientesPagina")) {
+            if (ultima == null) return alertaDAO.listarPendientesPagina(null, 0, tamanio);
+            return alertaDAO.listarPendientesPagina(ultima.getFecha(), ultima.getIdAlerta(), tamanio);
         }
-        return cola;
     }
 
-    /** Devuelve una Queue con todas las alertas no leídas (desde BD) en orden FIFO. */
+    /**
+     * Devuelve una Queue con todas las alertas no leídas (desde BD) en orden FIFO,
+     * cada una con su obligación, cliente y tipo (una sola consulta).
+     */
+    @SuppressWarnings("try")
     public Deque<Alerta> listarPendientes() throws DataAccessException {
-        Deque<Alerta> cola = new ArrayDeque<>();
-        alertaDAO.listarPendientes().forEach(cola::add);
-        return cola;
+        try (Traza.Ambito t = Traza.abrir("AlertaService.listarPendientes")) {
+            Deque<Alerta> cola = new ArrayDeque<>();
+            alertaDAO.listarPendientes().forEach(cola::add);
+            return cola;
+        }
     }
 
     /** Marca como leída una alerta por su ID. */
+    @SuppressWarnings("try")
     public void marcarLeida(int idAlerta) throws DomainException, DataAccessException {
         if (idAlerta <= 0) throw new DomainException("ID de alerta inválido.");
-        alertaDAO.marcarLeida(idAlerta);
+        try (Traza.Ambito t = Traza.abrir("AlertaService.marcarLeida")) {
+            alertaDAO.marcarLeida(idAlerta);
+        }
+    }
+
+    // === Variantes asíncronas (ver Asincrono) ===
+
+    public CompletableFuture<Deque<Alerta>> generarPendientesAsync(LocalDate hoy, int diasAviso) {
+        return Asincrono.ejecutar(() -> generarPendientes(hoy, diasAviso));
+    }
+
+    public CompletableFuture<List<Alerta>> listarPendientesPaginaAsync(Alerta ultima, int tamanio) {
+        return Asincrono.ejecutar(() -> listarPendientesPagina(ultima, tamanio));
+    }
+
+    public CompletableFuture<Deque<Alerta>> listarPendientesAsync() {
+        return Asincrono.ejecutar(this::listarPendientes);
     }
-}
 
+    public CompletableFuture<Void> marcarLeidaAsync(int idAlerta) {
+        return Asincrono.ejecutar(() -> {
+            marcarLeida(idAlerta);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package sgvic.servicios;
+
+import sgvic.config.DB;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Ejecutor de las variantes asíncronas de los servicios (xxxAsync).
+ *
+ * Cada tarea bloquea en JDBC, así que nunca corren más tareas a la vez que conexiones
+ * tiene el pool (pool.maximo): las de más esperan su turno acá y no en el pool, donde
+ * podrían vencer por timeout.
+ *  - Con Java 21+ se usa un hilo virtual por tarea (se busca por reflexión para seguir
+ *    compilando con Java 17) y un Semaphore limita cuántas corren.
+ *  - En Java 17 se usa un pool fijo de hilos daemon del mismo tamaño que el de conexiones.
+ *
+ * Los CompletableFuture terminan con la excepción original (DataAccessException,
+ * DomainException...) como causa de la CompletionException.
+ */
+public final class Asincrono {
+
+    private static final Logger LOG = Logger.getLogger("sgvic.servicios");
+
+    /** Trabajo de servicio que puede lanzar las excepciones de la capa (checked). */
+    @FunctionalInterface
+    public interface Tarea<T> {
+        T ejecutar() throws Exception;
+    }
+
+    private static final int MAXIMO = Math.max(1, DB.propiedadEntera("pool.maximo", 10));
+    private static final Executor EJECUTOR = crearEjecutor();
+
+    private Asincrono() { }
+
+    /** Ejecuta 'tarea' en segundo plano. */
+    public static <T> CompletableFuture<T> ejecutar(Tarea<T> tarea) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return tarea.ejecutar();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, EJECUTOR);
+    }
+
+    /** Excepción original de un futuro que terminó mal (sin la CompletionException). */
+    public static Throwable causa(Throwable t) {
+        while (t instanceof CompletionException && t.getCause() != null) t = t.getCause();
+        return t;
+    }
+
+    private static Executor crearEjecutor() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService virtuales = (ExecutorService) m.invoke(null);
+            Semaphore turnos = new Semaphore(MAXIMO, true);
+            LOG.config("Servicios asíncronos en hilos virtuales (máximo " + MAXIMO + " a la vez)");
+            return tarea -> virtuales.execute(() -> {
+                turnos.acquireUninterruptibly();
+                try {
+                    tarea.run();
+                } finally {
+                    turnos.release();
+                }
+            });
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger numero = new AtomicInteger();
+            LOG.config("Servicios asíncronos en un pool fijo de " + MAXIMO + " hilos");
+            return Executors.newFixedThreadPool(MAXIMO, r -> {
+                Thread t = new Thread(r, "sgvic-servicio-" + numero.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
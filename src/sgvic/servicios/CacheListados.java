@@ -0,0 +1,107 @@
+package sgvic.servicios;
+
+import sgvic.config.DB;
+import sgvic.config.Transacciones;
+import sgvic.excepciones.DataAccessException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache de resultados de consultas de listado, por clave ("listar", "cliente:5", ...).
+ *
+ * Cada resultado queda asociado a la generación de los datos que tenía el DAO al
+ * consultarlo (ObligacionDAO.generacion()). Cualquier escritura incrementa esa
+ * generación, así que un resultado guardado antes deja de servirse: la invalidación
+ * es exacta sin tener que saber qué listados tocó cada escritura.
+ *
+ * Esa generación sólo ve las escrituras de esta JVM: lo que cambie otra terminal o
+ * alguien directo en la BD no la mueve. Por eso además cada resultado vence a los
+ * cache.listadosTtlSeg segundos (como el catálogo de tipos), y limpiar() lo descarta
+ * todo cuando el usuario pide actualizar.
+ *
+ * LRU acotado, seguro entre hilos. Los resultados se devuelven inmodificables.
+ * Dentro de una transacción no se usa (podría ver datos sin confirmar).
+ */
+final class CacheListados<T> {
+
+    @FunctionalInterface
+    interface Consulta<T> {
+        List<T> ejecutar() throws DataAccessException;
+    }
+
+    private static final long TTL_NANOS = DB.propiedadEntera("cache.listadosTtlSeg", 60) * 1_000_000_000L;
+
+    private static final class Resultado<T> {
+        final long generacion;
+        final long guardado;   // System.nanoTime() al consultar
+        final List<T> filas;
+
+        Resultado(long generacion, long guardado, List<T> filas) {
+            this.generacion = generacion;
+            this.guardado = guardado;
+            this.filas = filas;
+        }
+    }
+
+    private final LongSupplier generacion;
+    private final LinkedHashMap<String, Resultado<T>> resultados;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    CacheListados(int capacidad, LongSupplier generacion) {
+        this.generacion = generacion;
+        this.resultados = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Resultado<T>> eldest) {
+                return size() > capacidad;
+            }
+        };
+    }
+
+    /** Resultado de 'clave' si sigue vigente; si no, ejecuta la consulta y lo guarda. */
+    List<T> obtener(String clave, Consulta<T> consulta) throws DataAccessException {
+        if (Transacciones.activa()) return consulta.ejecutar();
+
+        long actual = generacion.getAsLong();
+        long ahora = System.nanoTime();
+        synchronized (this) {
+            Resultado<T> r = resultados.get(clave);
+            if (r != null && r.generacion == actual && ahora - r.guardado < TTL_NANOS) {
+                aciertos.increment();
+                return r.filas;
+            }
+        }
+        fallos.increment();
+
+        // La generación se tomó ANTES de consultar: si alguien escribe mientras tanto,
+        // este resultado ya nace viejo y la próxima llamada vuelve a la BD (lo mismo la
+        // antigüedad: se cuenta desde antes de consultar)
+        List<T> filas = Collections.unmodifiableList(consulta.ejecutar());
+        synchronized (this) {
+            resultados.put(clave, new Resultado<>(actual, ahora, filas));
+        }
+        return filas;
+    }
+
+    /** Descarta todos los resultados: la próxima consulta de cada clave va a la BD. */
+    synchronized void limpiar() {
+        resultados.clear();
+    }
+
+    String estadisticas() {
+        long a = aciertos.sum();
+        long f = fallos.sum();
+        int tamanio;
+        synchronized (this) {
+            tamanio = resultados.size();
+        }
+        return String.format("CacheListados{resultados=%d, aciertos=%d, fallos=%d, tasaAcierto=%.1f%%}",
+                tamanio, a, f, a + f == 0 ? 0.0 : 100.0 * a / (a + f));
+    }
+}
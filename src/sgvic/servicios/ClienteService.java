@@ -1,11 +1,13 @@
 package sgvic.servicios;
 
+import sgvic.config.Traza;
 import sgvic.dao.ClienteDAO;
 import sgvic.entidades.Cliente;
 import sgvic.excepciones.DataAccessException;
 import sgvic.excepciones.DomainException;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Servicio de clientes.
@@ -23,14 +25,35 @@ public class ClienteService {
     /**
      * Devuelve todos los clientes de la BD.
      */
+    @SuppressWarnings("try")
     public List<Cliente> listar() throws DataAccessException {
-        return clienteDAO.listar();
+        try (Traza.Ambito t = Traza.abrir("ClienteService.listar")) {
+            return clienteDAO.listar();
+        }
+    }
+
+    /** Cliente por id (null si no existe). Los clientes consultados seguido salen del cache del DAO. */
+    @SuppressWarnings("try")
+    public Cliente buscarPorId(int idCliente) throws DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("ClienteService.buscarPorId")) {
+            return clienteDAO.buscarPorId(idCliente);
+        }
+    }
+
+    /** Cliente por CUIT, tal como está guardado (null si no existe). */
+    @SuppressWarnings("try")
+    public Cliente buscarPorCuit(String cuit) throws DataAccessException {
+        if (cuit == null || cuit.isBlank()) return null;
+        try (Traza.Ambito t = Traza.abrir("ClienteService.buscarPorCuit")) {
+            return clienteDAO.buscarPorCuit(cuit.trim());
+        }
     }
 
     /**
      * Crea y guarda un nuevo cliente validando datos básicos.
      * Este método lo llama la interfaz Swing.
      */
+    @SuppressWarnings("try")
     public void guardarNuevoCliente(String razonSocial,
                                     String cuit,
                                     String email,
@@ -55,7 +78,26 @@ public class ClienteService {
         c.setDireccion(direccion != null ? direccion.trim() : null);
 
         // El DAO se encarga de persistir en la BD (INSERT/UPDATE)
-        clienteDAO.guardar(c);
+        try (Traza.Ambito t = Traza.abrir("ClienteService.guardarNuevoCliente")) {
+            clienteDAO.guardar(c);
+        }
+    }
+
+    // === Variantes asíncronas (ver Asincrono) ===
+
+    public CompletableFuture<List<Cliente>> listarAsync() {
+        return Asincrono.ejecutar(this::listar);
     }
-}
 
+    public CompletableFuture<Cliente> buscarPorIdAsync(int idCliente) {
+        return Asincrono.ejecutar(() -> buscarPorId(idCliente));
+    }
+
+    public CompletableFuture<Void> guardarNuevoClienteAsync(String razonSocial, String cuit, String email,
+                                                            String telefono, String direccion) {
+        return Asincrono.ejecutar(() -> {
+            guardarNuevoCliente(razonSocial, cuit, email, telefono, direccion);
+            return null;
+        });
+    }
+}
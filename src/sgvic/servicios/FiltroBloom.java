@@ -0,0 +1,58 @@
+package sgvic.servicios;
+
+/**
+ * Filtro de Bloom para CUIT (11 dígitos, manejados como long).
+ *
+ * puedeContener() == false garantiza que el CUIT no está; true significa
+ * "quizás" (con una tasa de falsos positivos ~ la pedida), y ahí recién se
+ * consulta el conjunto exacto.
+ */
+final class FiltroBloom {
+
+    private final long[] bits;
+    private final int cantidadBits;
+    private final int funciones;
+
+    /**
+     * @param esperados cantidad de elementos que se van a agregar
+     * @param falsosPositivos tasa buscada (ej.: 0.01 = 1%)
+     */
+    FiltroBloom(int esperados, double falsosPositivos) {
+        int n = Math.max(esperados, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsosPositivos) / (Math.log(2) * Math.log(2)));
+        this.cantidadBits = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+        this.funciones = Math.max(1, (int) Math.round((double) cantidadBits / n * Math.log(2)));
+        this.bits = new long[(cantidadBits + 63) >>> 6];
+    }
+
+    void agregar(long cuit) {
+        long h = mezclar(cuit);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < funciones; i++) {
+            int pos = Math.floorMod(h1 + i * h2, cantidadBits);
+            bits[pos >>> 6] |= 1L << pos;
+        }
+    }
+
+    boolean puedeContener(long cuit) {
+        long h = mezclar(cuit);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < funciones; i++) {
+            int pos = Math.floorMod(h1 + i * h2, cantidadBits);
+            if ((bits[pos >>> 6] & (1L << pos)) == 0) return false;
+        }
+        return true;
+    }
+
+    // Finalizador de MurmurHash3 (64 bits): reparte bien claves consecutivas
+    private static long mezclar(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x;
+    }
+}
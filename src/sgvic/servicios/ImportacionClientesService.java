@@ -0,0 +1,208 @@
+package sgvic.servicios;
+
+import sgvic.config.DB;
+import sgvic.config.Transacciones;
+import sgvic.config.Traza;
+import sgvic.dao.ClienteDAO;
+import sgvic.entidades.Cliente;
+import sgvic.excepciones.DataAccessException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Importación masiva de clientes desde CSV.
+ *
+ * Columnas: razon_social, cuit, email, telefono, direccion (separadas por ',' o ';',
+ * con encabezado opcional). El archivo se lee por bloques, sin cargarlo entero:
+ *  1) cada bloque se valida en paralelo;
+ *  2) los CUIT se controlan contra los ya existentes (filtro de Bloom + conjunto
+ *     exacto cargado una vez de la tabla 'cliente') y contra los del propio archivo;
+ *  3) los que pasan se guardan con ClienteDAO.guardarTodos (INSERT en lote).
+ * Las filas descartadas quedan en el ResultadoImportacion con línea y motivo.
+ */
+public class ImportacionClientesService {
+
+    private static final int BLOQUE = Math.max(1, DB.propiedadEntera("importacion.bloque", 5000));
+
+    private final ClienteDAO clienteDAO = new ClienteDAO();
+
+    @SuppressWarnings("try")
+    public ResultadoImportacion importar(Path archivo) throws IOException, DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("ImportacionClientesService.importar")) {
+            long inicio = System.nanoTime();
+            ResultadoImportacion resultado = new ResultadoImportacion();
+
+            // CUIT ya cargados: conjunto exacto + Bloom delante para descartar rápido los nuevos
+            Set<Long> existentes = new HashSet<>();
+            clienteDAO.recorrerCuits(cuit -> {
+                Long n = cuitComoNumero(cuit);
+                if (n != null) existentes.add(n);
+            });
+            FiltroBloom bloom = new FiltroBloom(existentes.size() + estimarLineas(archivo), 0.01);
+            for (long cuit : existentes) bloom.agregar(cuit);
+
+            try (BufferedReader in = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+                List<String> bloque = new ArrayList<>(BLOQUE);
+                long primeraLinea = 1;
+                long numero = 0;
+                char separador = 0;
+                String linea;
+                while ((linea = in.readLine()) != null) {
+                    numero++;
+                    if (separador == 0) {
+                        separador = linea.indexOf(';') >= 0 ? ';' : ',';
+                        if (linea.toLowerCase(Locale.ROOT).contains("cuit")) {   // encabezado
+                            primeraLinea = numero + 1;
+                            continue;
+                        }
+                    }
+                    bloque.add(linea);
+                    if (bloque.size() == BLOQUE) {
+                        procesarBloque(bloque, primeraLinea, separador, existentes, bloom, resultado);
+                        primeraLinea = numero + 1;
+                        bloque.clear();
+                    }
+                }
+                if (!bloque.isEmpty()) {
+                    procesarBloque(bloque, primeraLinea, separador, existentes, bloom, resultado);
+                }
+            }
+
+            resultado.setNanos(System.nanoTime() - inicio);
+            return resultado;
+        }
+    }
+
+    private void procesarBloque(List<String> lineas, long primeraLinea, char separador,
+                                Set<Long> existentes, FiltroBloom bloom,
+                                ResultadoImportacion resultado) throws DataAccessException {
+        resultado.sumarLeidas(lineas.size());
+
+        // 1) Parseo y validación en paralelo (no depende del orden)
+        Validada[] validadas = new Validada[lineas.size()];
+        IntStream.range(0, lineas.size()).parallel()
+                .forEach(i -> validadas[i] = validar(lineas.get(i), separador));
+
+        // 2) Duplicados en orden de archivo: gana la primera aparición
+        List<Cliente> nuevos = new ArrayList<>();
+        List<Long> lineasNuevos = new ArrayList<>();
+        for (int i = 0; i < validadas.length; i++) {
+            Validada v = validadas[i];
+            long nroLinea = primeraLinea + i;
+            if (v.motivo != null) {
+                resultado.rechazar(nroLinea, v.cuitTexto, v.motivo);
+                continue;
+            }
+            if (bloom.puedeContener(v.cuit) && existentes.contains(v.cuit)) {
+                resultado.rechazar(nroLinea, v.cuitTexto, "CUIT ya existente");
+                continue;
+            }
+            existentes.add(v.cuit);
+            bloom.agregar(v.cuit);
+            nuevos.add(v.cliente);
+            lineasNuevos.add(nroLinea);
+        }
+
+        // 3) Alta en lote; si otro usuario cargó un CUIT mientras tanto, se reintenta de a uno.
+        //    Todo el bloque (lote o reintentos) en una conexión y un solo commit.
+        Transacciones.enTransaccion(() -> {
+            try {
+                clienteDAO.guardarTodos(nuevos);
+                resultado.sumarAceptadas(nuevos.size());
+            } catch (DataAccessException e) {
+                for (int i = 0; i < nuevos.size(); i++) {
+                    Cliente c = nuevos.get(i);
+                    c.setIdCliente(0);
+                    try {
+                        clienteDAO.guardar(c);
+                        resultado.sumarAceptadas(1);
+                    } catch (DataAccessException individual) {
+                        resultado.rechazar(lineasNuevos.get(i), c.getCuit(), individual.getMessage());
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /** Fila ya parseada: un Cliente válido o el motivo del rechazo. */
+    private static final class Validada {
+        Cliente cliente;
+        long cuit;
+        String cuitTexto;
+        String motivo;
+    }
+
+    private static Validada validar(String linea, char separador) {
+        Validada v = new Validada();
+        List<String> campos = partir(linea, separador);
+        String razon = campo(campos, 0);
+        String cuit = campo(campos, 1);
+        if (cuit != null) cuit = cuit.replace("-", "");
+        v.cuitTexto = cuit;
+
+        if (razon == null) {
+            v.motivo = "La razón social es obligatoria";
+        } else if (cuit == null) {
+            v.motivo = "El CUIT es obligatorio";
+        } else if (!Cliente.validarCuitConDV(cuit)) {
+            v.motivo = "CUIT inválido (deben ser 11 dígitos)";
+        } else {
+            v.cuit = Long.parseLong(cuit);
+            v.cliente = new Cliente(razon, cuit, campo(campos, 2), campo(campos, 3), campo(campos, 4));
+        }
+        return v;
+    }
+
+    private static String campo(List<String> campos, int i) {
+        if (i >= campos.size()) return null;
+        String s = campos.get(i).trim();
+        return s.isEmpty() ? null : s;
+    }
+
+    /** Parte una línea CSV respetando comillas dobles ("a;b" y "" dentro de comillas). */
+    private static List<String> partir(String linea, char separador) {
+        List<String> campos = new ArrayList<>(5);
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char ch = linea.charAt(i);
+            if (ch == '"') {
+                if (entreComillas && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else {
+                    entreComillas = !entreComillas;
+                }
+            } else if (ch == separador && !entreComillas) {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(ch);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    private static Long cuitComoNumero(String cuit) {
+        if (cuit == null) return null;
+        String s = cuit.replace("-", "").trim();
+        return Cliente.validarCuitBasico(s) ? Long.parseLong(s) : null;
+    }
+
+    // Para dimensionar el Bloom sin leer el archivo dos veces (~60 bytes por línea)
+    private static int estimarLineas(Path archivo) throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE / 2, Files.size(archivo) / 60 + 1);
+    }
+}
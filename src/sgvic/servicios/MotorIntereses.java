@@ -0,0 +1,202 @@
+package sgvic.servicios;
+
+import sgvic.entidades.InteresesDevengados;
+import sgvic.entidades.Obligacion;
+import sgvic.entidades.ObligacionAnual;
+import sgvic.entidades.ObligacionMensual;
+import sgvic.entidades.ObligacionesCompactas;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Cálculo masivo de intereses por mora a una fecha, repartido entre los núcleos
+ * (fork/join sobre el pool común), con totales por cliente y por tipo.
+ *
+ * Da exactamente lo mismo que sumar calcularInteres de cada obligación, sin crear
+ * BigDecimal por obligación: con el monto en centavos (long) y la tasa diaria en
+ * diezmilésimos (ObligacionMensual/ObligacionAnual.TASA_DIARIA_DIEZMILESIMOS),
+ *
+ *   interés en centavos = monto × tasa × días / 10000, redondeado HALF_UP
+ *
+ * que es la misma cuenta exacta que hace la entidad antes de setScale(2, HALF_UP).
+ * Si el producto no entra en un long se hace esa fila con BigDecimal; si la obligación
+ * es de otra subclase o su monto tiene más de 2 decimales, se usa su calcularInteres.
+ */
+public final class MotorIntereses {
+
+    // Obligaciones por tramo como mínimo: por debajo no conviene seguir dividiendo
+    private static final int UMBRAL_MINIMO = 8_192;
+
+    // Tramos por núcleo: algunos de más para repartir mejor, no tantos como para que
+    // juntar los totales por cliente de cada tramo pese más que calcularlos
+    private static final int TRAMOS_POR_NUCLEO = 4;
+
+    private static final long DIEZ_MIL = 10_000;
+
+    private MotorIntereses() { }
+
+    /** Intereses devengados a 'fecha' por 'obligaciones' (de cualquier estado; las pagadas dan 0). */
+    public static InteresesDevengados calcular(List<? extends Obligacion> obligaciones, LocalDate fecha) {
+        List<? extends Obligacion> lista = obligaciones instanceof RandomAccess
+                ? obligaciones : new ArrayList<>(obligaciones);
+        return calcular(lista.size(), fecha, (desde, hasta, parcial) -> {
+            for (int i = desde; i < hasta; i++) {
+                Obligacion o = lista.get(i);
+                parcial.sumar(idCliente(o), idTipo(o), interesCentavos(o, fecha));
+            }
+        });
+    }
+
+    /**
+     * Igual que calcular(lista, fecha) sobre obligaciones compactas: no hay nada que
+     * convertir por fila (monto y fecha ya son primitivos).
+     */
+    public static InteresesDevengados calcular(ObligacionesCompactas obligaciones, LocalDate fecha) {
+        long hoy = fecha.toEpochDay();
+        return calcular(obligaciones.cantidad(), fecha, (desde, hasta, parcial) -> {
+            for (int i = desde; i < hasta; i++) {
+                long centavos = 0;
+                if (obligaciones.estaVencida(i, hoy)) {
+                    int tasa = obligaciones.esAnual(i)
+                            ? ObligacionAnual.TASA_DIARIA_DIEZMILESIMOS
+                            : ObligacionMensual.TASA_DIARIA_DIEZMILESIMOS;
+                    centavos = interesCentavos(obligaciones.getMontoCentavos(i),
+                            hoy - obligaciones.getFechaVencDias(i), tasa);
+                }
+                parcial.sumar(obligaciones.getIdCliente(i), obligaciones.getIdTipo(i), centavos);
+            }
+        });
+    }
+
+    /** Interés de una obligación por el camino del motor (igual a o.calcularInteres(fecha)). */
+    public static BigDecimal interes(Obligacion o, LocalDate fecha) {
+        return BigDecimal.valueOf(interesCentavos(o, fecha), 2);
+    }
+
+    /**
+     * Interés en centavos de 'montoCentavos' con 'diasMora' días de atraso a la tasa
+     * diaria 'tasaDiezmilesimos'. Redondeo HALF_UP (los empates se alejan del cero).
+     */
+    static long interesCentavos(long montoCentavos, long diasMora, int tasaDiezmilesimos) {
+        if (diasMora <= 0) return 0;
+        try {
+            long exacto = Math.multiplyExact(Math.multiplyExact(montoCentavos, tasaDiezmilesimos), diasMora);
+            return exacto >= 0
+                    ? Math.addExact(exacto, DIEZ_MIL / 2) / DIEZ_MIL
+                    : -(Math.addExact(-exacto, DIEZ_MIL / 2) / DIEZ_MIL);
+        } catch (ArithmeticException desborde) {
+            return BigDecimal.valueOf(montoCentavos, 2)
+                    .multiply(BigDecimal.valueOf(tasaDiezmilesimos, 4))
+                    .multiply(BigDecimal.valueOf(diasMora))
+                    .setScale(2, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+        }
+    }
+
+    static long interesCentavos(Obligacion o, LocalDate fecha) {
+        int tasa = tasaDiezmilesimos(o);
+        if (tasa < 0) return centavos(o.calcularInteres(fecha));
+        if (!o.estaVencida(fecha)) return 0;
+        long montoCentavos;
+        try {
+            montoCentavos = o.getMonto().movePointRight(2).longValueExact();
+        } catch (ArithmeticException masDeDosDecimales) {
+            return centavos(o.calcularInteres(fecha));
+        }
+        return interesCentavos(montoCentavos, fecha.toEpochDay() - o.getFechaVenc().toEpochDay(), tasa);
+    }
+
+    // Solo las clases conocidas: una subclase podría redefinir calcularInteres
+    private static int tasaDiezmilesimos(Obligacion o) {
+        if (o.getClass() == ObligacionMensual.class) return ObligacionMensual.TASA_DIARIA_DIEZMILESIMOS;
+        if (o.getClass() == ObligacionAnual.class) return ObligacionAnual.TASA_DIARIA_DIEZMILESIMOS;
+        return -1;
+    }
+
+    private static long centavos(BigDecimal monto) {
+        return monto.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private static int idCliente(Obligacion o) {
+        return o.getCliente() != null ? o.getCliente().getIdCliente() : 0;
+    }
+
+    private static int idTipo(Obligacion o) {
+        return o.getTipo() != null ? o.getTipo().getIdTipo() : 0;
+    }
+
+    // === Fork/join ===
+
+    /** Recorre las posiciones [desde, hasta) y acumula su interés en 'parcial'. */
+    @FunctionalInterface
+    interface Fuente {
+        void acumular(int desde, int hasta, Parcial parcial);
+    }
+
+    static InteresesDevengados calcular(int cantidad, LocalDate fecha, Fuente fuente) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int umbral = Math.max(UMBRAL_MINIMO, cantidad / (pool.getParallelism() * TRAMOS_POR_NUCLEO));
+        Parcial p = pool.invoke(new Tramo(fuente, 0, cantidad, umbral));
+        return new InteresesDevengados(fecha, cantidad, p.conInteres, BigDecimal.valueOf(p.total, 2),
+                p.porCliente.comoMapa(), p.porTipo.comoMapa());
+    }
+
+    /** Totales de un tramo, en centavos. */
+    static final class Parcial {
+        private long total;
+        private int conInteres;
+        private final SumasPorId porCliente = new SumasPorId(256);
+        private final SumasPorId porTipo = new SumasPorId();
+
+        void sumar(int idCliente, int idTipo, long centavos) {
+            if (centavos == 0) return;
+            total = Math.addExact(total, centavos);
+            conInteres++;
+            porCliente.sumar(idCliente, centavos);
+            porTipo.sumar(idTipo, centavos);
+        }
+
+        Parcial juntar(Parcial otro) {
+            total = Math.addExact(total, otro.total);
+            conInteres += otro.conInteres;
+            porCliente.sumarTodo(otro.porCliente);
+            porTipo.sumarTodo(otro.porTipo);
+            return this;
+        }
+    }
+
+    private static final class Tramo extends RecursiveTask<Parcial> {
+        private final Fuente fuente;
+        private final int desde;
+        private final int hasta;
+        private final int umbral;
+
+        Tramo(Fuente fuente, int desde, int hasta, int umbral) {
+            this.fuente = fuente;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.umbral = umbral;
+        }
+
+        @Override
+        protected Parcial compute() {
+            if (hasta - desde <= umbral) {
+                Parcial p = new Parcial();
+                fuente.acumular(desde, hasta, p);
+                return p;
+            }
+            int medio = (desde + hasta) >>> 1;
+            Tramo izquierda = new Tramo(fuente, desde, medio, umbral);
+            izquierda.fork();
+            Parcial derecha = new Tramo(fuente, medio, hasta, umbral).compute();
+            return izquierda.join().juntar(derecha);
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package sgvic.servicios;
 
+import sgvic.config.DB;
+import sgvic.config.Traza;
 import sgvic.dao.ObligacionDAO;
+import sgvic.dao.ProcesadorFila;
 import sgvic.entidades.Cliente;
 import sgvic.entidades.EstadoObligacion;
+import sgvic.entidades.InteresesDevengados;
 import sgvic.entidades.Obligacion;
 import sgvic.entidades.ObligacionMensual;
+import sgvic.entidades.ObligacionesCompactas;
 import sgvic.entidades.TipoObligacion;
 import sgvic.excepciones.DataAccessException;
 import sgvic.excepciones.DomainException;
@@ -14,6 +19,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Servicio de obligaciones fiscales.
@@ -27,15 +33,118 @@ public class ObligacionService {
 
     private final ObligacionDAO obligacionDAO;
 
+    // Listados cacheados, compartidos por todas las pantallas; se invalidan solos cuando
+    // cambia ObligacionDAO.generacion() (escrituras de obligaciones, pagos o clientes)
+    // o pasados cache.listadosTtlSeg (escrituras de otras terminales)
+    private static final CacheListados<Obligacion> LISTADOS = new CacheListados<>(
+            Math.max(1, DB.propiedadEntera("cache.listadosObligaciones", 32)), ObligacionDAO::generacion);
+
+    /**
+     * Descarta los listados cacheados (el usuario pidió actualizar): las próximas
+     * consultas van a la BD y ven también lo que cambiaron otras terminales.
+     */
+    public static void descartarCache() {
+        LISTADOS.limpiar();
+    }
+
+    /** Aciertos y fallos del cache de listados de obligaciones. */
+    public static String getEstadisticasCache() {
+        return LISTADOS.estadisticas();
+    }
+
     public ObligacionService() {
         this.obligacionDAO = new ObligacionDAO();
     }
 
     /**
-     * Devuelve todas las obligaciones de la BD.
+     * Devuelve todas las obligaciones de la BD (lista inmodificable; puede venir del cache).
      */
+    @SuppressWarnings("try")
     public List<Obligacion> listar() throws DataAccessException {
-        return obligacionDAO.listar();
+        try (Traza.Ambito t = Traza.abrir("ObligacionService.listar")) {
+            return LISTADOS.obtener("listar", obligacionDAO::listar);
+        }
+    }
+
+    /**
+     * Obligaciones de un cliente (lista inmodificable; puede venir del cache).
+     */
+    @SuppressWarnings("try")
+    public List<Obligacion> listarPorCliente(int idCliente) throws DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("ObligacionService.listarPorCliente")) {
+            return LISTADOS.obtener("cliente:" + idCliente, () -> obligacionDAO.listarPorCliente(idCliente));
+        }
+    }
+
+    /**
+     * Página de obligaciones por ID (keyset): las siguientes 'tamanio' después de 'despuesDeId'.
+     */
+    @SuppressWarnings("try")
+    public List<Obligacion> listarPagina(int despuesDeId, int tamanio) throws DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("ObligacionService.listarPagina")) {
+            return LISTADOS.obtener("pagina:" + despuesDeId + ":" + tamanio,
+                    () -> obligacionDAO.listarPagina(despuesDeId, tamanio));
+        }
+    }
+
+    /**
+     * Página de obligaciones ordenada por vencimiento, a continuación de 'ultima'
+     * (la última fila ya mostrada; null para la primera página).
+     */
+    @SuppressWarnings("try")
+    public List<Obligacion> listarPaginaPorVencimiento(Obligacion ultima, int tamanio) throws DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("ObligacionService.listarPaginaPorVencimiento")) {
+            LocalDate fecha = ultima != null ? ultima.getFechaVenc() : null;
+            int id = ultima != null ? ultima.getIdObligacion() : 0;
+            return LISTADOS.obtener("vencimiento:" + fecha + ":" + id + ":" + tamanio,
+                    () -> obligacionDAO.listarPaginaPorVencimiento(fecha, id, tamanio));
+        }
+    }
+
+    /**
+     * Recorre todas las obligaciones de a una, sin cargarlas todas en memoria
+     * (para exportaciones y procesos sobre tablas grandes).
+     */
+    @SuppressWarnings("try")
+    public void recorrer(ProcesadorFila<Obligacion> procesador) throws DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("ObligacionService.recorrer")) {
+            obligacionDAO.recorrer(procesador);
+        }
+    }
+
+    /**
+     * Obligaciones sin pagar que vencen hasta 'limite' (incluye las ya vencidas),
+     * ordenadas por vencimiento. El filtro lo resuelve la BD.
+     */
+    @SuppressWarnings("try")
+    public List<Obligacion> listarPendientesHasta(LocalDate limite) throws DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("ObligacionService.listarPendientesHasta")) {
+            return LISTADOS.obtener("pendientes:" + limite, () -> obligacionDAO.listarPendientesHasta(limite));
+        }
+    }
+
+    /**
+     * Intereses por mora devengados a 'fecha' por todas las obligaciones sin pagar,
+     * con totales por cliente y por tipo. El cálculo corre en paralelo (MotorIntereses)
+     * sobre las obligaciones en forma compacta, sin armar entidades.
+     */
+    @SuppressWarnings("try")
+    public InteresesDevengados calcularIntereses(LocalDate fecha) throws DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("ObligacionService.calcularIntereses")) {
+            return MotorIntereses.calcular(obligacionDAO.cargarPendientesCompactasHasta(fecha), fecha);
+        }
+    }
+
+    /**
+     * Todas las obligaciones en forma compacta (ver ObligacionesCompactas): una fracción
+     * de la memoria de listar(), para recorridos y cálculos sobre la tabla entera.
+     * No pasa por el cache de listados.
+     */
+    @SuppressWarnings("try")
+    public ObligacionesCompactas listarCompactas() throws DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("ObligacionService.listarCompactas")) {
+            return obligacionDAO.cargarCompactas();
+        }
     }
 
     /**
@@ -48,6 +157,22 @@ public class ObligacionService {
         return copia;
     }
 
+    /**
+     * Obligaciones del período "AAAA-MM" buscadas en la BD (no sólo entre las cargadas),
+     * las primeras 'limite' por ID. Lista inmodificable; puede venir del cache.
+     */
+    @SuppressWarnings("try")
+    public List<Obligacion> listarPorPeriodo(String periodo, int limite) throws DomainException, DataAccessException {
+        String clave = periodo != null ? periodo.trim() : "";
+        if (!clave.matches("\\d{4}-\\d{2}")) {
+            throw new DomainException("El período debe tener formato AAAA-MM.");
+        }
+        try (Traza.Ambito t = Traza.abrir("ObligacionService.listarPorPeriodo")) {
+            return LISTADOS.obtener("periodo:" + clave + ":" + limite,
+                    () -> obligacionDAO.listarPorPeriodo(clave, limite));
+        }
+    }
+
     /**
      * Búsqueda binaria por período (ej: "2025-03").
      * Trabaja sobre una copia de la lista, ordenada por período.
@@ -88,6 +213,7 @@ public class ObligacionService {
      * instancia una ObligacionMensual (o la clase concreta que uses)
      * en estado PENDIENTE y la guarda con el DAO.
      */
+    @SuppressWarnings("try")
     public void crearObligacion(Cliente cliente,
                                 TipoObligacion tipo,
                                 String periodo,
@@ -121,6 +247,46 @@ public class ObligacionService {
                 EstadoObligacion.PENDIENTE
         );
 
-        obligacionDAO.guardar(nueva);
+        try (Traza.Ambito t = Traza.abrir("ObligacionService.crearObligacion")) {
+            obligacionDAO.guardar(nueva);
+        }
+    }
+
+    // === Variantes asíncronas (ver Asincrono) ===
+
+    public CompletableFuture<List<Obligacion>> listarAsync() {
+        return Asincrono.ejecutar(this::listar);
+    }
+
+    public CompletableFuture<List<Obligacion>> listarPorClienteAsync(int idCliente) {
+        return Asincrono.ejecutar(() -> listarPorCliente(idCliente));
+    }
+
+    public CompletableFuture<List<Obligacion>> listarPaginaAsync(int despuesDeId, int tamanio) {
+        return Asincrono.ejecutar(() -> listarPagina(despuesDeId, tamanio));
+    }
+
+    public CompletableFuture<List<Obligacion>> listarPaginaPorVencimientoAsync(Obligacion ultima, int tamanio) {
+        return Asincrono.ejecutar(() -> listarPaginaPorVencimiento(ultima, tamanio));
+    }
+
+    public CompletableFuture<List<Obligacion>> listarPendientesHastaAsync(LocalDate limite) {
+        return Asincrono.ejecutar(() -> listarPendientesHasta(limite));
+    }
+
+    public CompletableFuture<ObligacionesCompactas> listarCompactasAsync() {
+        return Asincrono.ejecutar(this::listarCompactas);
+    }
+
+    public CompletableFuture<InteresesDevengados> calcularInteresesAsync(LocalDate fecha) {
+        return Asincrono.ejecutar(() -> calcularIntereses(fecha));
+    }
+
+    public CompletableFuture<Void> crearObligacionAsync(Cliente cliente, TipoObligacion tipo, String periodo,
+                                                        LocalDate fechaVenc, BigDecimal monto) {
+        return Asincrono.ejecutar(() -> {
+            crearObligacion(cliente, tipo, periodo, fechaVenc, monto);
+            return null;
+        });
     }
 }
@@ -1,5 +1,7 @@
 package sgvic.servicios;
 
+import sgvic.config.Transacciones;
+import sgvic.config.Traza;
 import sgvic.dao.ObligacionDAO;
 import sgvic.dao.PagoDAO;
 import sgvic.entidades.EstadoObligacion;
@@ -12,6 +14,7 @@ import sgvic.excepciones.NotFoundException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Servicio de pagos.
@@ -31,53 +34,78 @@ public class PagoService {
     }
 
     /**
-     * Registra un pago para la obligación indicada y cambia su estado a PAGADA.
+     * Registra un pago para la obligación indicada y cambia su estado a PAGADA,
+     * todo en una transacción (ver PagoDAO.registrar): dos terminales no pueden
+     * pagar la misma obligación.
      */
+    @SuppressWarnings("try")
     public void registrarPago(int idObligacion,
                               LocalDate fecha,
                               String medio,
                               BigDecimal monto)
             throws DataAccessException, DomainException, NotFoundException {
 
-        // Buscar la obligación
-        Obligacion obl = obligacionDAO.buscarPorId(idObligacion);
-        if (obl == null) {
-            throw new NotFoundException("No existe obligación con ID " + idObligacion);
-        }
+        try (Traza.Ambito t = Traza.abrir("PagoService.registrarPago")) {
+            if (monto == null || monto.compareTo(BigDecimal.ZERO) <= 0) {
+                // Mismo orden de validación que siempre: existe, no está pagada, monto
+                Obligacion obl = obligacionDAO.buscarPorId(idObligacion);
+                if (obl == null) {
+                    throw new NotFoundException("No existe obligación con ID " + idObligacion);
+                }
+                if (obl.getEstado() == EstadoObligacion.PAGADA) {
+                    throw new DomainException("La obligación ya está pagada.");
+                }
+                throw new DomainException("El monto del pago debe ser mayor a cero.");
+            }
 
-        if (obl.getEstado() == EstadoObligacion.PAGADA) {
-            throw new DomainException("La obligación ya está pagada.");
-        }
+            // Crear pago
+            Pago p = new Pago();
+            p.setFecha(fecha != null ? fecha : LocalDate.now());
+            p.setMedio(medio != null && !medio.isBlank() ? medio.trim() : "Sin especificar");
+            p.setMonto(monto);
 
-        if (monto == null || monto.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new DomainException("El monto del pago debe ser mayor a cero.");
+            switch (pagoDAO.registrar(idObligacion, p)) {
+                case OBLIGACION_INEXISTENTE:
+                    throw new NotFoundException("No existe obligación con ID " + idObligacion);
+                case YA_PAGADA:
+                    throw new DomainException("La obligación ya está pagada.");
+                default:
+                    break;
+            }
         }
-
-        // Crear pago
-        Pago p = new Pago();
-        p.setObligacion(obl);
-        p.setFecha(fecha != null ? fecha : LocalDate.now());
-        p.setMedio(medio != null && !medio.isBlank() ? medio.trim() : "Sin especificar");
-        p.setMonto(monto);
-
-        // Guardar pago en la BD
-        pagoDAO.guardar(p);
-
-        // Actualizar estado de obligación
-        obl.setEstado(EstadoObligacion.PAGADA);
-        obligacionDAO.guardar(obl);
     }
 
     /**
      * Lista los pagos asociados a una obligación.
+     * Las dos consultas van en la misma conexión (transacción de sólo lectura).
      */
+    @SuppressWarnings("try")
     public List<Pago> listarPorObligacion(int idObligacion)
             throws DataAccessException, NotFoundException {
 
-        Obligacion obl = obligacionDAO.buscarPorId(idObligacion);
-        if (obl == null) {
-            throw new NotFoundException("No existe obligación con ID " + idObligacion);
+        try (Traza.Ambito t = Traza.abrir("PagoService.listarPorObligacion")) {
+            List<Pago> pagos = Transacciones.enLectura(() -> {
+                Obligacion obl = obligacionDAO.buscarPorId(idObligacion);
+                return obl == null ? null : pagoDAO.listarPorObligacion(obl);
+            });
+            if (pagos == null) {
+                throw new NotFoundException("No existe obligación con ID " + idObligacion);
+            }
+            return pagos;
         }
-        return pagoDAO.listarPorObligacion(obl);
+    }
+
+    // === Variantes asíncronas (ver Asincrono) ===
+
+    public CompletableFuture<Void> registrarPagoAsync(int idObligacion, LocalDate fecha, String medio,
+                                                      BigDecimal monto) {
+        return Asincrono.ejecutar(() -> {
+            registrarPago(idObligacion, fecha, medio, monto);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<Pago>> listarPorObligacionAsync(int idObligacion) {
+        return Asincrono.ejecutar(() -> listarPorObligacion(idObligacion));
     }
 }
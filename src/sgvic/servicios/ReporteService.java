@@ -0,0 +1,103 @@
+package sgvic.servicios;
+
+import sgvic.config.DB;
+import sgvic.config.Traza;
+import sgvic.dao.ObligacionDAO;
+import sgvic.dao.ReporteDAO;
+import sgvic.entidades.TotalPorMedio;
+import sgvic.entidades.TotalesObligaciones;
+import sgvic.excepciones.DataAccessException;
+import sgvic.excepciones.DomainException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reportes de montos pendientes / vencidos / pagados y de pagos por medio.
+ *
+ * Las sumas las hace MySQL (ReporteDAO): se reciben pocas filas ya agrupadas en lugar
+ * de traer todas las obligaciones para sumarlas acá. Los resultados se cachean con la
+ * generación de ObligacionDAO (cualquier escritura de obligaciones, pagos o clientes
+ * de esta terminal los invalida), con la fecha del día, porque "vencido" depende de
+ * hoy, y vencen a los cache.listadosTtlSeg segundos por lo que escriban otras.
+ */
+public class ReporteService {
+
+    /** Reportes de obligaciones disponibles. */
+    public enum Agrupacion { CLIENTE, TIPO, PERIODO, MES_VENCIMIENTO }
+
+    private static final int CAPACIDAD = Math.max(1, DB.propiedadEntera("cache.reportes", 16));
+    private static final CacheListados<TotalesObligaciones> TOTALES =
+            new CacheListados<>(CAPACIDAD, ObligacionDAO::generacion);
+    private static final CacheListados<TotalPorMedio> MEDIOS =
+            new CacheListados<>(CAPACIDAD, ObligacionDAO::generacion);
+
+    private final ReporteDAO reporteDAO = new ReporteDAO();
+
+    /**
+     * Totales de obligaciones con vencimiento entre 'desde' y 'hasta' (null = sin límite),
+     * agrupados según 'agrupacion'. Lista inmodificable.
+     */
+    @SuppressWarnings("try")
+    public List<TotalesObligaciones> totalesObligaciones(Agrupacion agrupacion, LocalDate desde, LocalDate hasta)
+            throws DomainException, DataAccessException {
+        validarRango(desde, hasta);
+        LocalDate hoy = LocalDate.now();
+        try (Traza.Ambito t = Traza.abrir("ReporteService.totalesObligaciones")) {
+            return TOTALES.obtener(clave(agrupacion.name(), desde, hasta, hoy), () -> {
+                switch (agrupacion) {
+                    case CLIENTE:
+                        return reporteDAO.totalesPorCliente(desde, hasta, hoy);
+                    case TIPO:
+                        return reporteDAO.totalesPorTipo(desde, hasta, hoy);
+                    case PERIODO:
+                        return reporteDAO.totalesPorPeriodo(desde, hasta, hoy);
+                    default:
+                        return reporteDAO.totalesPorMesVencimiento(desde, hasta, hoy);
+                }
+            });
+        }
+    }
+
+    /** Pagos con fecha entre 'desde' y 'hasta' (null = sin límite), por medio de pago. */
+    @SuppressWarnings("try")
+    public List<TotalPorMedio> pagosPorMedio(LocalDate desde, LocalDate hasta)
+            throws DomainException, DataAccessException {
+        validarRango(desde, hasta);
+        try (Traza.Ambito t = Traza.abrir("ReporteService.pagosPorMedio")) {
+            return MEDIOS.obtener(clave("MEDIO", desde, hasta, LocalDate.now()),
+                    () -> reporteDAO.pagosPorMedio(desde, hasta));
+        }
+    }
+
+    public CompletableFuture<List<TotalesObligaciones>> totalesObligacionesAsync(Agrupacion agrupacion,
+                                                                                LocalDate desde, LocalDate hasta) {
+        return Asincrono.ejecutar(() -> totalesObligaciones(agrupacion, desde, hasta));
+    }
+
+    public CompletableFuture<List<TotalPorMedio>> pagosPorMedioAsync(LocalDate desde, LocalDate hasta) {
+        return Asincrono.ejecutar(() -> pagosPorMedio(desde, hasta));
+    }
+
+    /** Descarta los reportes cacheados: el próximo de cada uno se vuelve a calcular. */
+    public static void descartarCache() {
+        TOTALES.limpiar();
+        MEDIOS.limpiar();
+    }
+
+    /** Aciertos y fallos del cache de reportes. */
+    public static String getEstadisticasCache() {
+        return TOTALES.estadisticas() + " " + MEDIOS.estadisticas();
+    }
+
+    private static void validarRango(LocalDate desde, LocalDate hasta) throws DomainException {
+        if (desde != null && hasta != null && desde.isAfter(hasta)) {
+            throw new DomainException("La fecha 'desde' no puede ser posterior a 'hasta'.");
+        }
+    }
+
+    private static String clave(String reporte, LocalDate desde, LocalDate hasta, LocalDate hoy) {
+        return reporte + ":" + desde + ":" + hasta + ":" + hoy;
+    }
+}
@@ -0,0 +1,71 @@
+package sgvic.servicios;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de clientes:
+ * cuántos se guardaron y, por cada fila rechazada, la línea y el motivo.
+ */
+public class ResultadoImportacion {
+
+    /** Una fila del archivo que no se importó. */
+    public static final class Rechazo {
+        private final long linea;
+        private final String cuit;
+        private final String motivo;
+
+        Rechazo(long linea, String cuit, String motivo) {
+            this.linea = linea;
+            this.cuit = cuit;
+            this.motivo = motivo;
+        }
+
+        public long getLinea() { return linea; }
+        public String getCuit() { return cuit; }
+        public String getMotivo() { return motivo; }
+    }
+
+    private long leidas;
+    private long aceptadas;
+    private long nanos;
+    private final List<Rechazo> rechazos = new ArrayList<>();
+
+    void sumarLeidas(long n) { leidas += n; }
+    void sumarAceptadas(long n) { aceptadas += n; }
+    void rechazar(long linea, String cuit, String motivo) { rechazos.add(new Rechazo(linea, cuit, motivo)); }
+    void setNanos(long nanos) { this.nanos = nanos; }
+
+    public long getLeidas() { return leidas; }
+    public long getAceptadas() { return aceptadas; }
+    public List<Rechazo> getRechazos() { return Collections.unmodifiableList(rechazos); }
+    public double getSegundos() { return nanos / 1e9; }
+
+    public double getFilasPorSegundo() {
+        return nanos == 0 ? 0 : leidas / getSegundos();
+    }
+
+    /** Escribe el reporte de rechazos como CSV (linea;cuit;motivo). */
+    public void escribirRechazos(Path destino) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(destino, StandardCharsets.UTF_8)) {
+            w.write("linea;cuit;motivo");
+            w.newLine();
+            for (Rechazo r : rechazos) {
+                w.write(r.linea + ";" + (r.cuit != null ? r.cuit : "") + ";" + r.motivo);
+                w.newLine();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Importación{leídas=%d, aceptadas=%d, rechazadas=%d, %.2f s, %.0f filas/s}",
+                leidas, aceptadas, rechazos.size(), getSegundos(), getFilasPorSegundo());
+    }
+}
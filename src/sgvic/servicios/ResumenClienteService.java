@@ -0,0 +1,50 @@
+package sgvic.servicios;
+
+import sgvic.config.Traza;
+import sgvic.dao.ResumenClienteDAO;
+import sgvic.entidades.ResumenCliente;
+import sgvic.excepciones.DataAccessException;
+import sgvic.excepciones.NotFoundException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cuánto debe cada cliente y cuántas obligaciones tiene vencidas.
+ * Lee una fila por cliente de 'cliente_resumen' (ver ResumenClienteDAO), sin
+ * traer ni sumar sus obligaciones.
+ */
+public class ResumenClienteService {
+
+    private final ResumenClienteDAO resumenDAO = new ResumenClienteDAO();
+
+    /** Resumen del cliente; NotFoundException si no existe. */
+    @SuppressWarnings("try")
+    public ResumenCliente buscarPorCliente(int idCliente) throws DataAccessException, NotFoundException {
+        try (Traza.Ambito t = Traza.abrir("ResumenClienteService.buscarPorCliente")) {
+            ResumenCliente r = resumenDAO.buscarPorCliente(idCliente);
+            if (r == null) throw new NotFoundException("No existe el cliente con ID " + idCliente + ".");
+            return r;
+        }
+    }
+
+    /** Resumen de todos los clientes (uno por fila, por idCliente). */
+    @SuppressWarnings("try")
+    public List<ResumenCliente> listar() throws DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("ResumenClienteService.listar")) {
+            return resumenDAO.listar();
+        }
+    }
+
+    /** Recalcula la tabla entera desde las obligaciones (ver ReconstruirResumenes). */
+    @SuppressWarnings("try")
+    public int reconstruir() throws DataAccessException {
+        try (Traza.Ambito t = Traza.abrir("ResumenClienteService.reconstruir")) {
+            return resumenDAO.reconstruir();
+        }
+    }
+
+    public CompletableFuture<List<ResumenCliente>> listarAsync() {
+        return Asincrono.ejecutar(this::listar);
+    }
+}
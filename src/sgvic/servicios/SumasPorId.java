@@ -0,0 +1,89 @@
+package sgvic.servicios;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sumas en centavos (long) por id (int), con direccionamiento abierto: sumar no crea
+ * objetos por elemento, a diferencia de un HashMap&lt;Integer, BigDecimal&gt;.
+ * Lo usa MotorIntereses para los totales por cliente y por tipo de cada tramo.
+ * No es thread-safe: cada tramo tiene las suyas y después se juntan.
+ */
+final class SumasPorId {
+
+    private static final int VACIO = Integer.MIN_VALUE;
+
+    private int[] claves;
+    private long[] sumas;
+    private int cantidad;
+
+    SumasPorId() {
+        this(16);
+    }
+
+    SumasPorId(int capacidadInicial) {
+        int capacidad = Integer.highestOneBit(Math.max(16, capacidadInicial) - 1) << 1;
+        claves = new int[capacidad];
+        sumas = new long[capacidad];
+        Arrays.fill(claves, VACIO);
+    }
+
+    /** Suma 'centavos' a 'id'. Si el total no entra en un long, ArithmeticException. */
+    void sumar(int id, long centavos) {
+        int mascara = claves.length - 1;
+        int i = posicion(id, mascara);
+        while (claves[i] != VACIO && claves[i] != id) i = (i + 1) & mascara;
+        if (claves[i] == VACIO) {
+            claves[i] = id;
+            sumas[i] = centavos;
+            if (++cantidad * 2 > claves.length) agrandar();
+        } else {
+            sumas[i] = Math.addExact(sumas[i], centavos);
+        }
+    }
+
+    /** Agrega todas las sumas de 'otras'. */
+    void sumarTodo(SumasPorId otras) {
+        for (int i = 0; i < otras.claves.length; i++) {
+            if (otras.claves[i] != VACIO) sumar(otras.claves[i], otras.sumas[i]);
+        }
+    }
+
+    int cantidad() {
+        return cantidad;
+    }
+
+    /** id → monto con escala 2, ordenado por id; omite los ceros. Inmodificable. */
+    Map<Integer, BigDecimal> comoMapa() {
+        Map<Integer, BigDecimal> mapa = new TreeMap<>();
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != VACIO && sumas[i] != 0) mapa.put(claves[i], BigDecimal.valueOf(sumas[i], 2));
+        }
+        return Collections.unmodifiableMap(mapa);
+    }
+
+    private void agrandar() {
+        int[] viejasClaves = claves;
+        long[] viejasSumas = sumas;
+        claves = new int[viejasClaves.length * 2];
+        sumas = new long[viejasSumas.length * 2];
+        Arrays.fill(claves, VACIO);
+        int mascara = claves.length - 1;
+        for (int j = 0; j < viejasClaves.length; j++) {
+            if (viejasClaves[j] == VACIO) continue;
+            int i = posicion(viejasClaves[j], mascara);
+            while (claves[i] != VACIO) i = (i + 1) & mascara;
+            claves[i] = viejasClaves[j];
+            sumas[i] = viejasSumas[j];
+        }
+    }
+
+    // Ids consecutivos (autoincrementales) repartidos por toda la tabla
+    private static int posicion(int id, int mascara) {
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+}
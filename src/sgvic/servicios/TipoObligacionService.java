@@ -1,17 +1,40 @@
 package sgvic.servicios;
 
-import sgvic.dao.TipoObligacionDAO;
+import sgvic.config.Traza;
+import sgvic.dao.CatalogoTipoObligacion;
 import sgvic.entidades.TipoObligacion;
 import sgvic.excepciones.DataAccessException;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Tipos de obligación. Se leen del catálogo en memoria (CatalogoTipoObligacion):
+ * la BD sólo se consulta al cargarlo o refrescarlo.
+ */
 public class TipoObligacionService {
 
-    private final TipoObligacionDAO dao = new TipoObligacionDAO();
-
+    @SuppressWarnings("try")
     public List<TipoObligacion> listarTodos() throws DataAccessException {
-        return dao.listar();
+        try (Traza.Ambito t = Traza.abrir("TipoObligacionService.listarTodos")) {
+            return CatalogoTipoObligacion.todos();
+        }
+    }
+
+    public TipoObligacion buscarPorId(int idTipo) throws DataAccessException {
+        return CatalogoTipoObligacion.porId(idTipo);
+    }
+
+    public TipoObligacion buscarPorCodigo(String codigo) throws DataAccessException {
+        return CatalogoTipoObligacion.porCodigo(codigo);
+    }
+
+    /** Vuelve a leer los tipos de la BD (si se editó la tabla 'tipoobligacion'). */
+    public void refrescar() throws DataAccessException {
+        CatalogoTipoObligacion.refrescar();
     }
-}
 
+    public CompletableFuture<List<TipoObligacion>> listarTodosAsync() {
+        return Asincrono.ejecutar(this::listarTodos);
+    }
+}
@@ -0,0 +1,575 @@
+package sgvic.ui;
+
+import sgvic.config.DB;
+import sgvic.dao.ClienteDAO;
+import sgvic.dao.MapaIdentidad;
+import sgvic.dao.MapeadorFila;
+import sgvic.dao.ObligacionDAO;
+import sgvic.entidades.Cliente;
+import sgvic.entidades.EstadoObligacion;
+import sgvic.entidades.InteresesDevengados;
+import sgvic.entidades.Obligacion;
+import sgvic.entidades.ObligacionAnual;
+import sgvic.entidades.ObligacionMensual;
+import sgvic.entidades.ObligacionesCompactas;
+import sgvic.entidades.TipoObligacion;
+import sgvic.excepciones.DataAccessException;
+import sgvic.excepciones.DomainException;
+import sgvic.servicios.ClienteService;
+import sgvic.servicios.ImportacionClientesService;
+import sgvic.servicios.MotorIntereses;
+import sgvic.servicios.ResultadoImportacion;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Mediciones de rendimiento contra la BD configurada en db.properties.
+ * Se ejecuta desde consola, igual que ProbarConexion:
+ *
+ *   java -cp sgvic.jar sgvic.ui.Benchmark lotes [filas]
+ *   java -cp sgvic.jar sgvic.ui.Benchmark importacion [filas]
+ *   java -cp sgvic.jar sgvic.ui.Benchmark identidad [obligaciones]   (no usa la BD)
+ *   java -cp sgvic.jar sgvic.ui.Benchmark mapeo [filas]              (no usa la BD)
+ *   java -cp sgvic.jar sgvic.ui.Benchmark intereses [obligaciones]   (no usa la BD)
+ *   java -cp sgvic.jar sgvic.ui.Benchmark compactas [obligaciones]   (no usa la BD)
+ *
+ * Los datos de prueba se borran al terminar.
+ */
+public class Benchmark {
+
+    public static void main(String[] args) throws Exception {
+        String caso = args.length > 0 ? args[0] : "lotes";
+        int filas = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        switch (caso) {
+            case "lotes":
+                lotes(filas);
+                System.out.println(DB.getEstadisticasPool());
+                break;
+            case "importacion":
+                importacion(filas);
+                System.out.println(DB.getEstadisticasPool());
+                break;
+            case "identidad":
+                identidad(args.length > 1 ? filas : 100_000);
+                break;
+            case "mapeo":
+                mapeo(args.length > 1 ? filas : 200_000);
+                break;
+            case "intereses":
+                intereses(args.length > 1 ? filas : 1_000_000);
+                break;
+            case "compactas":
+                compactas(args.length > 1 ? filas : 1_000_000);
+                break;
+            default:
+                System.out.println("Caso desconocido: " + caso);
+                System.out.println("Casos: lotes [filas] | importacion [filas] | identidad [obligaciones] | mapeo [filas] | intereses [obligaciones] | compactas [obligaciones]");
+        }
+    }
+
+    /** Alta de clientes de a uno (guardar) vs. en lote (guardarTodos), en filas/segundo. */
+    private static void lotes(int filas) throws DataAccessException {
+        ClienteDAO dao = new ClienteDAO();
+        int individuales = Math.min(filas, 1_000);
+
+        long base = baseCuitDePrueba();
+        List<Cliente> uno = clientesDePrueba(base, individuales);
+        long t0 = System.nanoTime();
+        for (Cliente c : uno) dao.guardar(c);
+        informar("guardar (de a uno)", individuales, System.nanoTime() - t0);
+
+        List<Cliente> lote = clientesDePrueba(base + individuales, filas);
+        t0 = System.nanoTime();
+        dao.guardarTodos(lote);
+        informar("guardarTodos", filas, System.nanoTime() - t0);
+
+        List<Integer> ids = new ArrayList<>();
+        for (Cliente c : uno) ids.add(c.getIdCliente());
+        for (Cliente c : lote) ids.add(c.getIdCliente());
+        t0 = System.nanoTime();
+        dao.eliminarTodos(ids);
+        informar("eliminarTodos", ids.size(), System.nanoTime() - t0);
+    }
+
+    /**
+     * Importación de un CSV generado (encabezado, ~1% de CUIT inválidos y ~1% repetidos):
+     * de a una línea (validar el CUIT, buscarlo y guardarNuevoCliente, hasta 1.000 líneas)
+     * contra ImportacionClientesService.importar con el archivo entero.
+     */
+    private static void importacion(int filas) throws IOException, DataAccessException {
+        long base = baseCuitDePrueba();
+        int individuales = Math.min(filas, 1_000);
+        Path deAUna = csvDePrueba(base, individuales);
+        Path archivo = csvDePrueba(base + individuales, filas);
+        try {
+            ClienteService clienteService = new ClienteService();
+            long t0 = System.nanoTime();
+            for (String linea : Files.readAllLines(deAUna, StandardCharsets.UTF_8).subList(1, individuales + 1)) {
+                String[] c = linea.split(";", -1);
+                if (!Cliente.validarCuitConDV(c[1]) || clienteService.buscarPorCuit(c[1]) != null) continue;
+                try {
+                    clienteService.guardarNuevoCliente(c[0], c[1], c[2], c[3], c[4]);
+                } catch (DomainException rechazada) {
+                    // la importación también la descarta
+                }
+            }
+            informar("guardarNuevoCliente", individuales, System.nanoTime() - t0);
+
+            ResultadoImportacion r = new ImportacionClientesService().importar(archivo);
+            informar("importar", r.getLeidas(), (long) (r.getSegundos() * 1e9));
+            System.out.printf("%-25s %10d aceptadas %10d rechazadas%n", "", r.getAceptadas(), r.getRechazos().size());
+        } finally {
+            Files.deleteIfExists(deAUna);
+            Files.deleteIfExists(archivo);
+            borrarClientesDePrueba(base, individuales + filas);
+        }
+    }
+
+    private static Path csvDePrueba(long base, int filas) throws IOException {
+        Path archivo = Files.createTempFile("sgvic-benchmark-", ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            out.write("razon_social;cuit;email;telefono;direccion");
+            out.newLine();
+            for (int i = 0; i < filas; i++) {
+                String cuit = i % 100 == 99 ? "123"                               // inválido
+                        : String.valueOf(base + (i % 100 == 98 ? i - 1 : i));   // repetido
+                out.write("Benchmark " + (base + i) + ";" + cuit + ";benchmark" + i + "@ejemplo.com;"
+                        + "011-4444-5555;Av. Siempre Viva " + i);
+                out.newLine();
+            }
+        }
+        return archivo;
+    }
+
+    // Clientes con CUIT en [base, base + cantidad)
+    private static void borrarClientesDePrueba(long base, int cantidad) throws DataAccessException {
+        ClienteDAO dao = new ClienteDAO();
+        List<Integer> ids = new ArrayList<>();
+        for (Cliente c : dao.listar()) {
+            try {
+                long cuit = Long.parseLong(c.getCuit());
+                if (cuit >= base && cuit < base + cantidad) ids.add(c.getIdCliente());
+            } catch (NumberFormatException otroFormato) {
+                // no es de prueba
+            }
+        }
+        if (!ids.isEmpty()) dao.eliminarTodos(ids);
+    }
+
+    /**
+     * Heap retenido y tiempo del mapeo real de ObligacionDAO (lectorObligaciones) sobre
+     * filas en memoria con las columnas de COLUMNAS_SQL (una cada 50 filas es de un
+     * cliente nuevo, como 100k obligaciones de 2k clientes): con un mapa que no recuerda
+     * nada (un Cliente y un TipoObligacion por fila, como antes) y con MapaIdentidad.
+     */
+    private static void identidad(int obligaciones) throws SQLException {
+        int clientes = Math.max(1, obligaciones / 50);
+        ResultSet rs = comoDriver(filasConObligacion(obligaciones, clientes));
+
+        long antes = heapUsado();
+        long t0 = System.nanoTime();
+        List<Obligacion> sinMapa = mapearTodas(rs, new SinIdentidad());
+        long tSin = System.nanoTime() - t0;
+        long sin = heapUsado() - antes;
+        System.out.printf("%-25s %10d obligaciones %8.1f MB retenidos %8.3f s%n", "sin mapa de identidad",
+                sinMapa.size(), sin / 1048576.0, tSin / 1e9);
+        sinMapa = null;
+
+        MapaIdentidad mapa = new MapaIdentidad();
+        antes = heapUsado();
+        t0 = System.nanoTime();
+        List<Obligacion> conMapa = mapearTodas(rs, mapa);
+        long tCon = System.nanoTime() - t0;
+        long con = heapUsado() - antes;
+        System.out.printf("%-25s %10d obligaciones %8.1f MB retenidos %8.3f s (%.0f%% menos heap, %d clientes)%n",
+                "con mapa de identidad", conMapa.size(), con / 1048576.0, tCon / 1e9,
+                100.0 * (sin - con) / sin, mapa.cantidadClientes());
+    }
+
+    private static List<Obligacion> mapearTodas(ResultSet rs, MapaIdentidad mapa) throws SQLException {
+        List<Obligacion> lista = new ArrayList<>();
+        rs.beforeFirst();
+        MapeadorFila.Lector<Obligacion> lector = ObligacionDAO.lectorObligaciones(rs, mapa);
+        while (rs.next()) lista.add(lector.leer());
+        return lista;
+    }
+
+    /** Mapa que no guarda nada: cada fila arma su propio cliente y tipo. */
+    private static final class SinIdentidad extends MapaIdentidad {
+        @Override
+        public void agregar(Cliente c) { }
+
+        @Override
+        public void agregar(TipoObligacion t) { }
+    }
+
+    /**
+     * El driver arma un String nuevo en cada getString; el CachedRowSet devuelve siempre
+     * el mismo, con lo que las entidades compartirían textos sin mapa de identidad.
+     */
+    private static ResultSet comoDriver(ResultSet rs) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    Object r;
+                    try {
+                        r = method.invoke(rs, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    return method.getName().equals("getString") && r != null ? new String((String) r) : r;
+                });
+    }
+
+    // Simula el mapeo de ObligacionDAO: cada fila trae sus propios String desde el driver
+    private static List<Obligacion> listadoSintetico(int filas, int clientes, MapaIdentidad mapa) {
+        List<Obligacion> lista = new ArrayList<>(filas);
+        for (int i = 0; i < filas; i++) {
+            int idCliente = i % clientes + 1;
+            int idTipo = i % 5 + 1;
+            Cliente c = mapa != null ? mapa.cliente(idCliente) : null;
+            if (c == null) {
+                c = new Cliente(idCliente, new String("Cliente de prueba S.A. " + idCliente),
+                        String.valueOf(30_000_000_000L + idCliente), "contacto" + idCliente + "@ejemplo.com",
+                        new String("011-4444-5555"), new String("Av. Siempre Viva " + idCliente));
+                if (mapa != null) mapa.agregar(c);
+            }
+            TipoObligacion t = mapa != null ? mapa.tipo(idTipo) : null;
+            if (t == null) {
+                t = new TipoObligacion(idTipo, "T" + idTipo, "Tipo " + idTipo, TipoObligacion.Periodicidad.MENSUAL);
+                if (mapa != null) mapa.agregar(t);
+            }
+            Obligacion o = new ObligacionMensual(c, t, String.format("2025-%02d", i % 12 + 1),
+                    LocalDate.of(2025, 1, 1).plusDays(i % 365), BigDecimal.valueOf(1000 + i % 5000, 2),
+                    EstadoObligacion.PENDIENTE);
+            o.setIdObligacion(i + 1);
+            lista.add(o);
+        }
+        return lista;
+    }
+
+    /**
+     * Mapeo fila → entidad sobre un ResultSet en memoria con las columnas de un listado
+     * de obligaciones: por nombre de columna + valueOf(toUpperCase()) como antes,
+     * contra MapeadorFila (posiciones resueltas una vez + decodificadores de ENUM).
+     */
+    private static void mapeo(int filas) throws SQLException {
+        CachedRowSet rs = filasDeObligaciones(filas);
+        MapeadorFila<Object[]> mapeador = new MapeadorFila<>((r, col) -> new Object[] {
+                r.getInt(col[0]), r.getString(col[1]), r.getString(col[2]), r.getString(col[3]),
+                r.getBigDecimal(col[4]), MapeadorFila.periodicidad(r.getString(col[5])),
+                MapeadorFila.estado(r.getString(col[6]))
+        }, "idObligacion", "razon_social", "cuit", "periodo", "monto", "periodicidad", "estado");
+
+        for (int vuelta = 0; vuelta < 5; vuelta++) {   // las primeras vueltas calientan el JIT
+            long t0 = System.nanoTime();
+            long control = 0;
+            rs.beforeFirst();
+            while (rs.next()) {
+                Object[] f = {
+                        rs.getInt("idObligacion"), rs.getString("razon_social"), rs.getString("cuit"),
+                        rs.getString("periodo"), rs.getBigDecimal("monto"),
+                        TipoObligacion.Periodicidad.valueOf(rs.getString("periodicidad").toUpperCase()),
+                        estadoPorComparacion(rs.getString("estado"))
+                };
+                control += f.length;
+            }
+            long porNombre = System.nanoTime() - t0;
+
+            t0 = System.nanoTime();
+            rs.beforeFirst();
+            MapeadorFila.Lector<Object[]> lector = mapeador.sobre(rs);
+            while (rs.next()) control += lector.leer().length;
+            long porPosicion = System.nanoTime() - t0;
+
+            if (vuelta == 4 && control > 0) {
+                informar("por nombre", filas, porNombre);
+                informar("MapeadorFila", filas, porPosicion);
+            }
+        }
+    }
+
+    /**
+     * Intereses a una fecha sobre un listado sintético (mensuales y anuales, en los tres
+     * estados, con montos chicos y enormes): calcularInteres de a una sumando BigDecimal
+     * por cliente y tipo, contra MotorIntereses. Antes de medir verifica que den igual,
+     * obligación por obligación y en los totales.
+     */
+    private static void intereses(int obligaciones) {
+        List<Obligacion> lista = obligacionesParaIntereses(obligaciones);
+        LocalDate hoy = LocalDate.of(2026, 1, 1);
+
+        int distintas = 0;
+        for (Obligacion o : lista) {
+            if (o.calcularInteres(hoy).compareTo(MotorIntereses.interes(o, hoy)) != 0) distintas++;
+        }
+        InteresesDevengados motor = MotorIntereses.calcular(lista, hoy);
+        Map<Integer, BigDecimal> porCliente = new HashMap<>();
+        Map<Integer, BigDecimal> porTipo = new HashMap<>();
+        BigDecimal total = interesesDeAUna(lista, hoy, porCliente, porTipo);
+        porCliente.values().removeIf(v -> v.signum() == 0);
+        porTipo.values().removeIf(v -> v.signum() == 0);
+        boolean iguales = distintas == 0 && total.compareTo(motor.getTotal()) == 0
+                && mismosMontos(porCliente, motor.getPorCliente()) && mismosMontos(porTipo, motor.getPorTipo());
+        System.out.printf("verificación: %s (%d obligaciones distintas), total %s%n",
+                iguales ? "OK" : "DIFERENCIAS", distintas, motor.getTotal());
+
+        for (int vuelta = 0; vuelta < 5; vuelta++) {   // las primeras vueltas calientan el JIT
+            long t0 = System.nanoTime();
+            BigDecimal control = interesesDeAUna(lista, hoy, new HashMap<>(), new HashMap<>());
+            long deAUna = System.nanoTime() - t0;
+
+            t0 = System.nanoTime();
+            InteresesDevengados r = MotorIntereses.calcular(lista, hoy);
+            long conMotor = System.nanoTime() - t0;
+
+            if (vuelta == 4 && control.compareTo(r.getTotal()) == 0) {
+                informar("calcularInteres de a una", obligaciones, deAUna);
+                informar("MotorIntereses", obligaciones, conMotor);
+            }
+        }
+    }
+
+    /**
+     * Heap retenido por un listado de obligaciones como entidades (con MapaIdentidad)
+     * y como ObligacionesCompactas; verifica la conversión de ida y vuelta y mide los
+     * intereses con MotorIntereses sobre cada representación.
+     */
+    private static void compactas(int obligaciones) {
+        int clientes = Math.max(1, obligaciones / 50);
+        MapaIdentidad mapa = new MapaIdentidad();
+
+        long antes = heapUsado();
+        List<Obligacion> lista = listadoSintetico(obligaciones, clientes, mapa);
+        long entidades = heapUsado() - antes;
+
+        antes = heapUsado();
+        ObligacionesCompactas compactas = ObligacionesCompactas.desde(lista);
+        long compacto = heapUsado() - antes;
+
+        System.out.printf("%-25s %10d obligaciones %8.1f MB retenidos%n", "entidades",
+                lista.size(), entidades / 1048576.0);
+        System.out.printf("%-25s %10d obligaciones %8.1f MB retenidos (%.0f%% menos)%n", "ObligacionesCompactas",
+                compactas.cantidad(), compacto / 1048576.0, 100.0 * (entidades - compacto) / entidades);
+
+        int distintas = 0;
+        for (int i = 0; i < compactas.cantidad(); i++) {
+            if (!mismaObligacion(lista.get(i), compactas.obligacion(i, mapa::cliente, mapa::tipo))) distintas++;
+        }
+        System.out.printf("ida y vuelta: %s (%d obligaciones distintas)%n", distintas == 0 ? "OK" : "DIFERENCIAS",
+                distintas);
+
+        LocalDate hoy = LocalDate.of(2026, 1, 1);
+        for (int vuelta = 0; vuelta < 5; vuelta++) {   // las primeras vueltas calientan el JIT
+            long t0 = System.nanoTime();
+            InteresesDevengados conEntidades = MotorIntereses.calcular(lista, hoy);
+            long tEntidades = System.nanoTime() - t0;
+
+            t0 = System.nanoTime();
+            InteresesDevengados conCompactas = MotorIntereses.calcular(compactas, hoy);
+            long tCompactas = System.nanoTime() - t0;
+
+            if (vuelta == 4) {
+                if (conEntidades.getTotal().compareTo(conCompactas.getTotal()) != 0
+                        || !mismosMontos(conEntidades.getPorCliente(), conCompactas.getPorCliente())) {
+                    System.out.println("intereses: DIFERENCIAS entre entidades y compactas");
+                }
+                informar("intereses (entidades)", obligaciones, tEntidades);
+                informar("intereses (compactas)", obligaciones, tCompactas);
+            }
+        }
+    }
+
+    private static boolean mismaObligacion(Obligacion a, Obligacion b) {
+        return a.getIdObligacion() == b.getIdObligacion()
+                && a.getClass() == b.getClass()
+                && a.getCliente() == b.getCliente()
+                && a.getTipo() == b.getTipo()
+                && a.getPeriodo().equals(b.getPeriodo())
+                && a.getFechaVenc().equals(b.getFechaVenc())
+                && a.getMonto().compareTo(b.getMonto()) == 0
+                && a.getEstado() == b.getEstado();
+    }
+
+    private static BigDecimal interesesDeAUna(List<Obligacion> lista, LocalDate hoy,
+                                              Map<Integer, BigDecimal> porCliente, Map<Integer, BigDecimal> porTipo) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Obligacion o : lista) {
+            BigDecimal interes = o.calcularInteres(hoy);
+            total = total.add(interes);
+            porCliente.merge(o.getCliente().getIdCliente(), interes, BigDecimal::add);
+            porTipo.merge(o.getTipo().getIdTipo(), interes, BigDecimal::add);
+        }
+        return total;
+    }
+
+    private static boolean mismosMontos(Map<Integer, BigDecimal> a, Map<Integer, BigDecimal> b) {
+        if (a.size() != b.size()) return false;
+        for (Map.Entry<Integer, BigDecimal> e : a.entrySet()) {
+            BigDecimal otro = b.get(e.getKey());
+            if (otro == null || otro.compareTo(e.getValue()) != 0) return false;
+        }
+        return true;
+    }
+
+    // Una de cada 10.000 con monto cerca del máximo de DECIMAL(15,2): monto × tasa × días no
+    // entra en un long y el motor pasa a BigDecimal en esa fila
+    private static List<Obligacion> obligacionesParaIntereses(int filas) {
+        MapaIdentidad mapa = new MapaIdentidad();
+        EstadoObligacion[] estados = EstadoObligacion.values();
+        Random azar = new Random(42);
+        List<Obligacion> lista = new ArrayList<>(filas);
+        for (int i = 0; i < filas; i++) {
+            int idCliente = i % Math.max(1, filas / 50) + 1;
+            Cliente c = mapa.cliente(idCliente);
+            if (c == null) {
+                c = new Cliente(idCliente, "Cliente " + idCliente, String.valueOf(30_000_000_000L + idCliente),
+                        null, null, null);
+                mapa.agregar(c);
+            }
+            int idTipo = i % 5 + 1;
+            boolean anual = idTipo == 2;
+            TipoObligacion t = mapa.tipo(idTipo);
+            if (t == null) {
+                t = new TipoObligacion(idTipo, "T" + idTipo, "Tipo " + idTipo,
+                        anual ? TipoObligacion.Periodicidad.ANUAL : TipoObligacion.Periodicidad.MENSUAL);
+                mapa.agregar(t);
+            }
+            BigDecimal monto = i % 10_000 == 0
+                    ? BigDecimal.valueOf(999_999_999_999_999L - azar.nextInt(1_000_000), 2)
+                    : BigDecimal.valueOf(1 + azar.nextInt(50_000_000), 2);
+            LocalDate venc = LocalDate.of(2020, 1, 1).plusDays(azar.nextInt(2_500));
+            EstadoObligacion estado = estados[i % estados.length];
+            String periodo = String.format("%d-%02d", venc.getYear(), venc.getMonthValue());
+            Obligacion o = anual
+                    ? new ObligacionAnual(c, t, periodo, venc, monto, estado)
+                    : new ObligacionMensual(c, t, periodo, venc, monto, estado);
+            o.setIdObligacion(i + 1);
+            lista.add(o);
+        }
+        return lista;
+    }
+
+    // Decodificación de 'estado' como la hacía ObligacionDAO antes de MapeadorFila
+    private static EstadoObligacion estadoPorComparacion(String s) {
+        if ("Vencida".equalsIgnoreCase(s)) return EstadoObligacion.VENCIDA;
+        if ("Pagada".equalsIgnoreCase(s))  return EstadoObligacion.PAGADA;
+        return EstadoObligacion.PENDIENTE;
+    }
+
+    // Filas como las de ObligacionDAO.COLUMNAS_SQL (obligación + cliente + tipo)
+    private static CachedRowSet filasConObligacion(int filas, int clientes) throws SQLException {
+        String[] nombres = {"idObligacion", "idCliente", "idTipo", "periodo", "fechaVenc", "monto", "estado",
+                "razon_social", "cuit", "email", "telefono", "direccion", "codigo", "descripcion", "periodicidad"};
+        int[] tipos = {Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.DATE, Types.DECIMAL,
+                Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+                Types.VARCHAR, Types.VARCHAR, Types.VARCHAR};
+        RowSetMetaDataImpl md = new RowSetMetaDataImpl();
+        md.setColumnCount(nombres.length);
+        for (int i = 0; i < nombres.length; i++) {
+            md.setColumnName(i + 1, nombres[i]);
+            md.setColumnType(i + 1, tipos[i]);
+        }
+        CachedRowSet rs = RowSetProvider.newFactory().createCachedRowSet();
+        rs.setMetaData(md);
+        String[] estados = {"Pendiente", "Vencida", "Pagada"};
+        for (int i = 0; i < filas; i++) {
+            int idCliente = i % clientes + 1;
+            int idTipo = i % 5 + 1;
+            rs.moveToInsertRow();
+            rs.updateInt(1, i + 1);
+            rs.updateInt(2, idCliente);
+            rs.updateInt(3, idTipo);
+            rs.updateString(4, String.format("2025-%02d", i % 12 + 1));
+            rs.updateDate(5, Date.valueOf(LocalDate.of(2025, 1, 1).plusDays(i % 365)));
+            rs.updateBigDecimal(6, BigDecimal.valueOf(1000 + i % 5000, 2));
+            rs.updateString(7, estados[i % 3]);
+            rs.updateString(8, "Cliente de prueba S.A. " + idCliente);
+            rs.updateString(9, String.valueOf(30_000_000_000L + idCliente));
+            rs.updateString(10, "contacto" + idCliente + "@ejemplo.com");
+            rs.updateString(11, "011-4444-5555");
+            rs.updateString(12, "Av. Siempre Viva " + idCliente);
+            rs.updateString(13, "T" + idTipo);
+            rs.updateString(14, "Tipo " + idTipo);
+            rs.updateString(15, idTipo == 5 ? "Anual" : "Mensual");
+            rs.insertRow();
+        }
+        rs.moveToCurrentRow();
+        return rs;
+    }
+
+    private static CachedRowSet filasDeObligaciones(int filas) throws SQLException {
+        String[] nombres = {"idObligacion", "razon_social", "cuit", "periodo", "monto", "periodicidad", "estado"};
+        int[] tipos = {Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DECIMAL,
+                Types.VARCHAR, Types.VARCHAR};
+        RowSetMetaDataImpl md = new RowSetMetaDataImpl();
+        md.setColumnCount(nombres.length);
+        for (int i = 0; i < nombres.length; i++) {
+            md.setColumnName(i + 1, nombres[i]);
+            md.setColumnType(i + 1, tipos[i]);
+        }
+        CachedRowSet rs = RowSetProvider.newFactory().createCachedRowSet();
+        rs.setMetaData(md);
+        String[] periodicidades = {"Mensual", "Anual", "Otra"};
+        String[] estados = {"Pendiente", "Vencida", "Pagada"};
+        for (int i = 0; i < filas; i++) {
+            rs.moveToInsertRow();
+            rs.updateInt(1, i + 1);
+            rs.updateString(2, "Cliente de prueba S.A. " + i % 2000);
+            rs.updateString(3, String.valueOf(30_000_000_000L + i % 2000));
+            rs.updateString(4, String.format("2025-%02d", i % 12 + 1));
+            rs.updateBigDecimal(5, BigDecimal.valueOf(1000 + i % 5000, 2));
+            rs.updateString(6, periodicidades[i % 3]);
+            rs.updateString(7, estados[i % 3]);
+            rs.insertRow();
+        }
+        rs.moveToCurrentRow();
+        return rs;
+    }
+
+    private static long heapUsado() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    // CUIT de 11 dígitos que empiezan con 99 (no asignados por AFIP) para no chocar con datos reales;
+    // deja lugar para 100.000 filas por corrida sin pasar de 11 dígitos
+    static long baseCuitDePrueba() {
+        return 99_000_000_000L + (System.currentTimeMillis() % 9_000) * 100_000L;
+    }
+
+    static List<Cliente> clientesDePrueba(long base, int cantidad) {
+        List<Cliente> lista = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            String cuit = String.valueOf(base + i);
+            lista.add(new Cliente("Benchmark " + cuit, cuit, null, null, null));
+        }
+        return lista;
+    }
+
+    static void informar(String caso, long filas, long nanos) {
+        double seg = nanos / 1e9;
+        System.out.printf("%-25s %10d filas %10.3f s %12.0f filas/s%n", caso, filas, seg, filas / seg);
+    }
+}
@@ -0,0 +1,61 @@
+package sgvic.ui;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Barra de estado de un panel mientras corre una TareaSegundoPlano:
+ * qué se está haciendo, hace cuánto, y un botón "Cancelar".
+ * Queda oculta cuando no hay ninguna tarea en curso.
+ */
+final class IndicadorProgreso extends JPanel {
+
+    private final JLabel lblDescripcion = new JLabel();
+    private final JProgressBar barra = new JProgressBar();
+    private final JButton btnCancelar = new JButton("Cancelar");
+    private final Timer reloj = new Timer(1000, e -> actualizarTexto());
+
+    private TareaSegundoPlano<?> actual;
+    private long inicio;
+
+    IndicadorProgreso() {
+        super(new FlowLayout(FlowLayout.LEFT));
+
+        // No se sabe cuántas filas van a venir: barra indeterminada más tiempo transcurrido
+        barra.setIndeterminate(true);
+        barra.setPreferredSize(new Dimension(150, barra.getPreferredSize().height));
+
+        add(barra);
+        add(lblDescripcion);
+        add(btnCancelar);
+        setVisible(false);
+
+        btnCancelar.addActionListener(e -> {
+            if (actual != null) actual.cancelar();
+        });
+    }
+
+    void iniciar(TareaSegundoPlano<?> tarea) {
+        if (actual != null && actual != tarea) actual.cancelar();
+        actual = tarea;
+        inicio = System.currentTimeMillis();
+        actualizarTexto();
+        reloj.restart();
+        setVisible(true);
+    }
+
+    void terminar(TareaSegundoPlano<?> tarea) {
+        if (actual != tarea) return;   // ya la reemplazó otra
+        actual = null;
+        reloj.stop();
+        setVisible(false);
+    }
+
+    private void actualizarTexto() {
+        if (actual == null) return;
+        long segundos = (System.currentTimeMillis() - inicio) / 1000;
+        lblDescripcion.setText(segundos > 0
+                ? actual.getDescripcion() + " (" + segundos + " s)"
+                : actual.getDescripcion());
+    }
+}
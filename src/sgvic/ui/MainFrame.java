@@ -1,27 +1,112 @@
 package sgvic.ui;
 
+import sgvic.config.DB;
+import sgvic.dao.CatalogoTipoObligacion;
+
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * Ventana principal.
+ *
+ * Cada pestaña se construye recién la primera vez que se la selecciona (la inicial,
+ * apenas la ventana está visible), y todas usan las mismas instancias de servicios.
+ * Mientras el usuario mira la primera pantalla, un hilo de fondo abre las conexiones
+ * mínimas del pool y carga el catálogo de tipos (arranque.precalentar en db.properties),
+ * así la primera consulta no paga el armado de la conexión.
+ */
 public class MainFrame extends JFrame {
 
+    private static final Logger LOG = Logger.getLogger("sgvic.arranque");
+
+    private final Servicios servicios = new Servicios();
+    private final JTabbedPane tabs = new JTabbedPane();
+
+    // Cómo construir cada pestaña (por índice); null cuando ya se construyó
+    private final List<Supplier<JComponent>> pendientes = new ArrayList<>();
+
     public MainFrame() {
         setTitle("SGVIC - Sistema de Gestión de Vencimientos Impositivos y Contables");
         setSize(900, 600);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
-        JTabbedPane tabs = new JTabbedPane();
-        tabs.addTab("Clientes", new PanelClientes());
-        tabs.addTab("Obligaciones", new PanelObligaciones());
-        tabs.addTab("Pagos", new PanelPagos());
-        tabs.addTab("Alertas", new PanelAlertas()); // ← esto funciona si PanelAlertas extends JPanel
+        agregarPestania("Clientes", () -> new PanelClientes(servicios));
+        agregarPestania("Obligaciones", () -> new PanelObligaciones(servicios));
+        agregarPestania("Pagos", () -> new PanelPagos(servicios));
+        agregarPestania("Alertas", () -> new PanelAlertas(servicios));
+        agregarPestania("Reportes", () -> new PanelReportes(servicios));
+        tabs.addChangeListener(e -> construirSeleccionada());
 
         add(tabs, BorderLayout.CENTER);
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                MedicionArranque.primeraVentana();
+                // la pestaña inicial se arma después de pintar la ventana vacía
+                SwingUtilities.invokeLater(MainFrame.this::construirSeleccionada);
+                precalentar();
+            }
+        });
+    }
+
+    private void agregarPestania(String titulo, Supplier<JComponent> constructor) {
+        tabs.addTab(titulo, new JPanel());
+        pendientes.add(constructor);
+    }
+
+    /** Construye la pestaña seleccionada si todavía era un lugar vacío. */
+    private void construirSeleccionada() {
+        int i = tabs.getSelectedIndex();
+        if (i < 0 || pendientes.get(i) == null) return;
+        JComponent panel = pendientes.get(i).get();
+        pendientes.set(i, null);
+        tabs.setComponentAt(i, panel);
+    }
+
+    /**
+     * Abre las conexiones mínimas del pool y carga el catálogo de tipos en un hilo
+     * daemon. Si la BD no está disponible sólo queda en el log: el error se verá
+     * (con su mensaje) en la primera consulta que haga el usuario.
+     */
+    private static void precalentar() {
+        Thread t = new Thread(() -> {
+            try {
+                if (!DB.propiedadBooleana("arranque.precalentar", true)) return;
+                DB.precalentarPool();
+                CatalogoTipoObligacion.cargar();
+                MedicionArranque.precalentado();
+                avisarProblemasEsquema();
+            } catch (Exception | ExceptionInInitializerError e) {
+                LOG.log(Level.WARNING, "No se pudo precalentar la conexión a la BD: " + e.getMessage(), e);
+            }
+        }, "sgvic-precalentar");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        t.start();
+    }
+
+    /** Informa las claves del esquema que las migraciones no pudieron crear (ver Migraciones). */
+    private static void avisarProblemasEsquema() {
+        List<String> problemas = DB.getProblemasEsquema();
+        if (problemas.isEmpty()) return;
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null,
+                "La base de datos tiene filas repetidas que impiden crear claves únicas.\n"
+                        + "La aplicación funciona, pero la base no está evitando duplicados:\n\n"
+                        + String.join("\n\n", problemas),
+                "Esquema de la base de datos", JOptionPane.WARNING_MESSAGE));
     }
 
     public static void main(String[] args) {
+        MedicionArranque.iniciar();
         SwingUtilities.invokeLater(() -> new MainFrame().setVisible(true));
     }
 }
-
@@ -0,0 +1,65 @@
+package sgvic.ui;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Logger;
+
+/**
+ * Tiempos de arranque de la aplicación, informados por el log "sgvic.arranque":
+ *  - hasta la primera ventana visible,
+ *  - hasta que terminó el precalentamiento (pool + catálogos), si está activo,
+ *  - la primera consulta de datos: desde el clic que la pidió hasta que la tabla los
+ *    muestra (la primera TareaSegundoPlano que termina bien), y si el precalentamiento
+ *    ya había terminado. No se mide desde main: incluiría lo que tardó el usuario en
+ *    hacer clic.
+ * Los dos primeros se miden desde el inicio de main y desde el arranque de la JVM.
+ * Cada hito se informa una sola vez.
+ */
+final class MedicionArranque {
+
+    private static final Logger LOG = Logger.getLogger("sgvic.arranque");
+
+    private static volatile long inicioMain;
+    private static boolean primeraVentana;
+    private static boolean primerosDatos;
+    private static boolean precalentado;
+
+    private MedicionArranque() { }
+
+    /** Marca el comienzo (primera línea de main). */
+    static void iniciar() {
+        inicioMain = System.nanoTime();
+    }
+
+    static synchronized void primeraVentana() {
+        if (primeraVentana) return;
+        primeraVentana = true;
+        informar("Primera ventana visible");
+    }
+
+    static synchronized void precalentado() {
+        if (precalentado) return;
+        precalentado = true;
+        informar("Precalentamiento terminado (pool y catálogos)");
+    }
+
+    /**
+     * Llamado al mostrar datos de la BD, con lo que tardaron desde que se pidieron;
+     * sólo cuenta la primera vez.
+     */
+    static synchronized void primerosDatos(String que, long nanosDesdeElPedido) {
+        if (primerosDatos) return;
+        primerosDatos = true;
+        if (inicioMain == 0) return;
+        LOG.info(String.format("Primeros datos (%s): %.0f ms desde el clic hasta mostrarlos, %s",
+                que, nanosDesdeElPedido / 1e6,
+                precalentado ? "con el precalentamiento terminado" : "sin precalentamiento terminado"));
+    }
+
+    private static void informar(String hito) {
+        if (inicioMain == 0) return;   // no se arrancó por MainFrame.main
+        double desdeMain = (System.nanoTime() - inicioMain) / 1e6;
+        long desdeJvm = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        LOG.info(String.format("%s: %.0f ms desde main, %d ms desde el inicio de la JVM",
+                hito, desdeMain, desdeJvm));
+    }
+}
@@ -1,10 +1,12 @@
 package sgvic.ui;
 
+import sgvic.entidades.Alerta;
 import sgvic.entidades.Cliente;
 import sgvic.entidades.Obligacion;
 import sgvic.entidades.TipoObligacion;
 import sgvic.excepciones.DataAccessException;
-import sgvic.servicios.ObligacionService;
+import sgvic.excepciones.DomainException;
+import sgvic.servicios.AlertaService;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -19,30 +21,44 @@ import java.util.List;
 /**
  * Panel de alertas de vencimientos.
  *
- * Muestra:
+ * Muestra las alertas no leídas de la BD:
  *  - Obligaciones vencidas
  *  - Obligaciones próximas a vencer (0, 7 y 15 días)
  *
  * Incluye:
- *  - Generar alertas
+ *  - Generar alertas (crea las del día y lista las no leídas de a páginas: la
+ *    siguiente se pide al llegar al final de la tabla)
  *  - Limpiar
- *  - Marcar como leída (quita la fila seleccionada)
+ *  - Marcar como leída (la marca en BD y quita la fila seleccionada)
  */
 public class PanelAlertas extends JPanel {
 
-    private final ObligacionService obligacionService = new ObligacionService();
+    private static final int TAMANIO_PAGINA = 100;
+
+    private final AlertaService alertaService;
+
+    // Alertas mostradas, en el mismo orden que las filas de la tabla
+    private final List<Alerta> alertas = new ArrayList<>();
+
+    // Paginado (solo se tocan en el EDT)
+    private Alerta ultimaCargada;      // clave de la página siguiente
+    private boolean hayMasPaginas;
+    private TareaSegundoPlano<?> paginaEnCurso;
+    private int listado;               // sube al regenerar o limpiar: descarta páginas viejas
 
     private JTable tablaAlertas;
     private JButton btnGenerar;
     private JButton btnLimpiar;
     private JButton btnMarcarLeida;
+    private final IndicadorProgreso indicador = new IndicadorProgreso();
 
     // Configuración de días de aviso
     private static final int[] DIAS_AVISO = {0, 7, 15};
 
     private final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
-    public PanelAlertas() {
+    PanelAlertas(Servicios servicios) {
+        this.alertaService = servicios.alertas();
         initComponents();
     }
 
@@ -65,7 +81,7 @@ public class PanelAlertas extends JPanel {
                 new Object[][]{},
                 new String[]{
                         "Cliente", "Tipo", "Período",
-                        "Fecha Venc.", "Días restantes", "Situación"
+                        "Fecha Venc.", "Monto", "Días restantes", "Situación"
                 }
         ) {
             @Override
@@ -78,6 +94,16 @@ public class PanelAlertas extends JPanel {
 
         JScrollPane scroll = new JScrollPane(tablaAlertas);
         add(scroll, BorderLayout.CENTER);
+        add(indicador, BorderLayout.SOUTH);
+
+        // Al acercarse al final de la tabla se agrega la página siguiente
+        scroll.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar barra = (JScrollBar) e.getAdjustable();
+            int margen = tablaAlertas.getRowHeight() * 5;
+            if (barra.getValue() + barra.getVisibleAmount() >= barra.getMaximum() - margen) {
+                pedirPaginaSiguiente();
+            }
+        });
 
         btnGenerar.addActionListener(e -> generarAlertas());
         btnLimpiar.addActionListener(e -> limpiar());
@@ -94,72 +120,82 @@ public class PanelAlertas extends JPanel {
         col.getColumn(1).setPreferredWidth(110);  // Tipo obligacion
         col.getColumn(2).setPreferredWidth(80);   // Periodo
         col.getColumn(3).setPreferredWidth(90);   // Fecha venc
-        col.getColumn(4).setPreferredWidth(90);   // Días restantes
-        col.getColumn(5).setPreferredWidth(130);  // Situación
+        col.getColumn(4).setPreferredWidth(90);   // Monto
+        col.getColumn(5).setPreferredWidth(90);   // Días restantes
+        col.getColumn(6).setPreferredWidth(130);  // Situación
     }
 
     /**
-     * Genera alertas a partir de las obligaciones en BD.
+     * Genera las alertas del día (vencidas o que vencen dentro del mayor aviso de
+     * DIAS_AVISO) y muestra la primera página de no leídas, con su obligación.
+     * Las dos cosas corren en segundo plano; la tabla se llena en el EDT al terminar.
      */
     private void generarAlertas() {
-        try {
-            List<Obligacion> obligaciones = obligacionService.listar();
-            List<Obligacion> conAlerta = filtrarConAlerta(obligaciones);
+        LocalDate hoy = LocalDate.now();
+        int esteListado = ++listado;
+        hayMasPaginas = false;
+        TareaSegundoPlano.ejecutar(indicador, "Generando alertas...", "Error al generar alertas",
+                () -> {
+                    int nuevas = alertaService.generarPendientes(hoy, DIAS_AVISO[DIAS_AVISO.length - 1]).size();
+                    return new Generadas(nuevas, alertaService.listarPendientesPagina(null, TAMANIO_PAGINA));
+                },
+                generadas -> {
+                    if (esteListado != listado) return;
+                    cargarEnTabla(generadas.pendientes);
+                    JOptionPane.showMessageDialog(
+                            this,
+                            "Se generaron " + generadas.nuevas + " alertas nuevas."
+                                    + (hayMasPaginas ? "" : " Sin leer: " + alertas.size() + "."),
+                            "Resultado",
+                            JOptionPane.INFORMATION_MESSAGE
+                    );
+                });
+    }
 
-            cargarEnTabla(conAlerta);
+    /** Resultado de generarAlertas: cuántas se crearon y la primera página de no leídas. */
+    private static final class Generadas {
+        final int nuevas;
+        final List<Alerta> pendientes;
 
-            JOptionPane.showMessageDialog(
-                    this,
-                    "Se generaron " + conAlerta.size() + " alertas.",
-                    "Resultado",
-                    JOptionPane.INFORMATION_MESSAGE
-            );
-
-        } catch (DataAccessException e) {
-            JOptionPane.showMessageDialog(
-                    this,
-                    "Error al generar alertas:\n" + e.getMessage(),
-                    "Error BD",
-                    JOptionPane.ERROR_MESSAGE
-            );
+        Generadas(int nuevas, List<Alerta> pendientes) {
+            this.nuevas = nuevas;
+            this.pendientes = pendientes;
         }
     }
 
     /**
-     * Devuelve obligaciones vencidas o próximas a vencer.
+     * Pide en segundo plano la página de no leídas que sigue a la última cargada y la
+     * agrega a la tabla. No hace nada si no hay más o ya hay una pedida.
      */
-    private List<Obligacion> filtrarConAlerta(List<Obligacion> origen) {
-        List<Obligacion> resultado = new ArrayList<>();
-        LocalDate hoy = LocalDate.now();
-
-        for (Obligacion o : origen) {
-            if (o.getFechaVenc() == null) continue;
-
-            long dias = ChronoUnit.DAYS.between(hoy, o.getFechaVenc());
-
-            boolean esVencida = dias < 0;
-            boolean esProxima = dias >= 0 && (
-                    dias <= DIAS_AVISO[1] || dias <= DIAS_AVISO[2]
-            );
-
-            if (esVencida || esProxima) {
-                resultado.add(o);
-            }
-        }
-
-        return resultado;
+    private void pedirPaginaSiguiente() {
+        if (!hayMasPaginas || (paginaEnCurso != null && !paginaEnCurso.isDone())) return;
+        int esteListado = listado;
+        Alerta ultima = ultimaCargada;
+        paginaEnCurso = TareaSegundoPlano.ejecutar(indicador, "Listando alertas...", "Error al listar alertas",
+                () -> alertaService.listarPendientesPagina(ultima, TAMANIO_PAGINA),
+                pagina -> {
+                    if (esteListado == listado) agregarATabla(pagina);
+                });
     }
 
     /**
-     * Carga datos en tabla con formateos.
+     * Carga datos en tabla con formateos (primera página).
      */
-    private void cargarEnTabla(List<Obligacion> lista) {
+    private void cargarEnTabla(List<Alerta> pagina) {
         DefaultTableModel model = (DefaultTableModel) tablaAlertas.getModel();
         model.setRowCount(0);
+        alertas.clear();
+        agregarATabla(pagina);
+        ajustarColumnas();
+    }
 
+    /** Agrega una página al final de la tabla y anota desde dónde sigue la próxima. */
+    private void agregarATabla(List<Alerta> pagina) {
+        DefaultTableModel model = (DefaultTableModel) tablaAlertas.getModel();
         LocalDate hoy = LocalDate.now();
 
-        for (Obligacion o : lista) {
+        for (Alerta a : pagina) {
+            Obligacion o = a.getObligacion();
             Cliente c = o.getCliente();
             TipoObligacion t = o.getTipo();
 
@@ -180,11 +216,13 @@ public class PanelAlertas extends JPanel {
             else situacion = "En término";
 
             model.addRow(new Object[]{
-                    cliente, tipo, periodo, fechaVenc, dias, situacion
+                    cliente, tipo, periodo, fechaVenc, o.getMonto(), dias, situacion
             });
+            alertas.add(a);
         }
 
-        ajustarColumnas();
+        hayMasPaginas = pagina.size() == TAMANIO_PAGINA;
+        if (!pagina.isEmpty()) ultimaCargada = pagina.get(pagina.size() - 1);
     }
 
     /**
@@ -193,10 +231,14 @@ public class PanelAlertas extends JPanel {
     private void limpiar() {
         DefaultTableModel model = (DefaultTableModel) tablaAlertas.getModel();
         model.setRowCount(0);
+        alertas.clear();
+        listado++;
+        hayMasPaginas = false;
+        ultimaCargada = null;
     }
 
     /**
-     * Elimina la alerta seleccionada.
+     * Marca como leída la alerta seleccionada y la quita de la tabla.
      */
     private void marcarComoLeida() {
         int fila = tablaAlertas.getSelectedRow();
@@ -210,12 +252,17 @@ public class PanelAlertas extends JPanel {
             return;
         }
 
-        ((DefaultTableModel) tablaAlertas.getModel()).removeRow(fila);
+        try {
+            alertaService.marcarLeida(alertas.get(fila).getIdAlerta());
+            alertas.remove(fila);
+            ((DefaultTableModel) tablaAlertas.getModel()).removeRow(fila);
+        } catch (DomainException | DataAccessException e) {
+            JOptionPane.showMessageDialog(
+                    this,
+                    "No se pudo marcar la alerta:\n" + e.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE
+            );
+        }
     }
 }
-
-
-
-
-
-
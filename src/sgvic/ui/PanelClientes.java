@@ -1,34 +1,52 @@
 package sgvic.ui;
 
 import sgvic.entidades.Cliente;
+import sgvic.entidades.ResumenCliente;
 import sgvic.excepciones.DataAccessException;
 import sgvic.excepciones.DomainException;
 import sgvic.servicios.ClienteService;
+import sgvic.servicios.ImportacionClientesService;
+import sgvic.servicios.ResultadoImportacion;
+import sgvic.servicios.ResumenClienteService;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.io.File;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Panel de gestión de clientes.
  * Permite:
  *  - Listar clientes desde la BD en una JTable.
  *  - Dar de alta un nuevo cliente y guardarlo en MySQL.
+ *  - Importar clientes en forma masiva desde un CSV (con reporte de rechazos).
+ *  - Ver cuánto debe cada cliente (tabla 'cliente_resumen', una fila por cliente).
  *
  * Esta funcionalidad es central para el sistema SGVIC.
  */
 public class PanelClientes extends JPanel {
 
-    // Servicio que encapsula la lógica de negocio
-    private final ClienteService clienteService = new ClienteService();
+    // Servicios que encapsulan la lógica de negocio (compartidos con los otros paneles)
+    private final ClienteService clienteService;
+    private final ImportacionClientesService importacionService;
+    private final ResumenClienteService resumenService;
 
     // Componentes de la UI
     private JTable tablaClientes;
     private JButton btnListar;
     private JButton btnAgregar;
+    private JButton btnImportar;
+    private JButton btnResumen;
+    private final IndicadorProgreso indicador = new IndicadorProgreso();
 
-    public PanelClientes() {
+    PanelClientes(Servicios servicios) {
+        this.clienteService = servicios.clientes();
+        this.importacionService = servicios.importacion();
+        this.resumenService = servicios.resumenes();
         initComponents();
     }
 
@@ -43,9 +61,13 @@ public class PanelClientes extends JPanel {
         JPanel panelBotones = new JPanel(new FlowLayout(FlowLayout.LEFT));
         btnListar = new JButton("Listar clientes");
         btnAgregar = new JButton("Agregar cliente");
+        btnImportar = new JButton("Importar CSV");
+        btnResumen = new JButton("Ver resumen");
 
         panelBotones.add(btnListar);
         panelBotones.add(btnAgregar);
+        panelBotones.add(btnImportar);
+        panelBotones.add(btnResumen);
 
         add(panelBotones, BorderLayout.NORTH);
 
@@ -69,10 +91,13 @@ public class PanelClientes extends JPanel {
 
         JScrollPane scroll = new JScrollPane(tablaClientes);
         add(scroll, BorderLayout.CENTER);
+        add(indicador, BorderLayout.SOUTH);
 
         // --- Asignar acciones a los botones ---
         btnListar.addActionListener(e -> cargarClientesEnTabla());
         btnAgregar.addActionListener(e -> agregarCliente());
+        btnImportar.addActionListener(e -> importarClientes());
+        btnResumen.addActionListener(e -> verResumen());
     }
 
     /**
@@ -99,37 +124,77 @@ public class PanelClientes extends JPanel {
 
     /**
      * Carga la tabla con los clientes que vienen de la BD.
-     * Usa el ClienteService y maneja las excepciones mostrando mensajes.
+     * La consulta corre en segundo plano; la tabla se llena en el EDT al terminar.
      */
     private void cargarClientesEnTabla() {
-        try {
-            List<Cliente> clientes = clienteService.listar();
-
-            DefaultTableModel model = (DefaultTableModel) tablaClientes.getModel();
-            model.setRowCount(0); // limpio todas las filas
-
-            for (Cliente c : clientes) {
-                model.addRow(new Object[]{
-                        c.getIdCliente(),
-                        c.getRazonSocial(),
-                        c.getCuit(),
-                        c.getEmail(),
-                        c.getTelefono(),
-                        c.getDireccion()
-                });
-            }
+        TareaSegundoPlano.ejecutar(indicador, "Listando clientes...", "Error al listar clientes",
+                clienteService::listar,
+                this::mostrarClientes);
+    }
 
-            // Por si en algún momento se cambiara el modelo, vuelvo a asegurar los anchos
-            configurarAnchosColumnas();
+    private void mostrarClientes(List<Cliente> clientes) {
+        DefaultTableModel model = (DefaultTableModel) tablaClientes.getModel();
+        model.setRowCount(0); // limpio todas las filas
 
-        } catch (DataAccessException e) {
-            JOptionPane.showMessageDialog(
-                    this,
-                    "Error al listar clientes:\n" + e.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
+        for (Cliente c : clientes) {
+            model.addRow(new Object[]{
+                    c.getIdCliente(),
+                    c.getRazonSocial(),
+                    c.getCuit(),
+                    c.getEmail(),
+                    c.getTelefono(),
+                    c.getDireccion()
+            });
         }
+
+        // Por si en algún momento se cambiara el modelo, vuelvo a asegurar los anchos
+        configurarAnchosColumnas();
+    }
+
+    /**
+     * Muestra la deuda de los clientes: la del seleccionado en la tabla o, si no hay
+     * ninguno seleccionado, la de todos (una fila de 'cliente_resumen' por cliente).
+     */
+    private void verResumen() {
+        int fila = tablaClientes.getSelectedRow();
+        if (fila >= 0) {
+            int idCliente = (Integer) tablaClientes.getModel().getValueAt(fila, 0);
+            TareaSegundoPlano.ejecutar(indicador, "Leyendo resumen del cliente...", "Error al leer el resumen",
+                    () -> List.of(resumenService.buscarPorCliente(idCliente)),
+                    this::mostrarResumen);
+        } else {
+            TareaSegundoPlano.ejecutar(indicador, "Leyendo resumen de clientes...", "Error al leer el resumen",
+                    resumenService::listar,
+                    this::mostrarResumen);
+        }
+    }
+
+    private void mostrarResumen(List<ResumenCliente> resumenes) {
+        DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        DefaultTableModel model = new DefaultTableModel(new String[]{
+                "ID", "Razón Social", "CUIT", "Abiertas", "Vencidas", "Total pendiente", "Próximo venc."
+        }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (ResumenCliente r : resumenes) {
+            model.addRow(new Object[]{
+                    r.getIdCliente(),
+                    r.getRazonSocial(),
+                    r.getCuit(),
+                    r.getAbiertas(),
+                    r.getVencidas(),
+                    r.getTotalPendiente(),
+                    r.getProximoVenc() != null ? r.getProximoVenc().format(formato) : ""
+            });
+        }
+
+        JTable tabla = new JTable(model);
+        JScrollPane scroll = new JScrollPane(tabla);
+        scroll.setPreferredSize(new Dimension(720, Math.min(400, 60 + 20 * resumenes.size())));
+        JOptionPane.showMessageDialog(this, scroll, "Resumen de deuda", JOptionPane.PLAIN_MESSAGE);
     }
 
     /**
@@ -202,6 +267,55 @@ public class PanelClientes extends JPanel {
             }
         }
     }
+
+    /**
+     * Importa clientes desde un CSV elegido por el usuario.
+     * Corre en segundo plano (puede ser un archivo grande); al terminar informa
+     * el resultado y deja los rechazos en "<archivo>.rechazos.csv".
+     */
+    private void importarClientes() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("CSV: razon_social, cuit, email, telefono, direccion");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        File archivo = chooser.getSelectedFile();
+        Path reporte = archivo.toPath().resolveSibling(archivo.getName() + ".rechazos.csv");
+        btnImportar.setEnabled(false);
+
+        new SwingWorker<ResultadoImportacion, Void>() {
+            @Override
+            protected ResultadoImportacion doInBackground() throws Exception {
+                ResultadoImportacion r = importacionService.importar(archivo.toPath());
+                if (!r.getRechazos().isEmpty()) r.escribirRechazos(reporte);
+                return r;
+            }
+
+            @Override
+            protected void done() {
+                btnImportar.setEnabled(true);
+                try {
+                    ResultadoImportacion r = get();
+                    String mensaje = String.format(
+                            "Filas leídas: %d%nClientes importados: %d%nRechazados: %d%nTiempo: %.2f s (%.0f filas/s)",
+                            r.getLeidas(), r.getAceptadas(), r.getRechazos().size(),
+                            r.getSegundos(), r.getFilasPorSegundo());
+                    if (!r.getRechazos().isEmpty()) mensaje += "\n\nDetalle de rechazos en:\n" + reporte;
+                    JOptionPane.showMessageDialog(PanelClientes.this, mensaje,
+                            "Importación", JOptionPane.INFORMATION_MESSAGE);
+                    cargarClientesEnTabla();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(
+                            PanelClientes.this,
+                            "Error al importar clientes:\n" + e.getCause().getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE
+                    );
+                }
+            }
+        }.execute();
+    }
 }
 
 
@@ -5,6 +5,7 @@ import sgvic.entidades.Obligacion;
 import sgvic.entidades.TipoObligacion;
 import sgvic.excepciones.DataAccessException;
 import sgvic.excepciones.DomainException;
+import sgvic.servicios.Asincrono;
 import sgvic.servicios.ObligacionService;
 import sgvic.servicios.ClienteService;
 import sgvic.servicios.TipoObligacionService;
@@ -19,14 +20,18 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Panel de gestión de obligaciones fiscales.
  *
  * Funcionalidades:
- *  - Listar obligaciones desde la BD.
- *  - Ordenar por fecha de vencimiento (usa algoritmo en ObligacionService).
- *  - Buscar por período (búsqueda binaria).
+ *  - Listar obligaciones desde la BD, de a una página: al llegar al final de la
+ *    tabla se agrega la siguiente, que ya se pidió en segundo plano.
+ *  - Ordenar por fecha de vencimiento (paginado en la BD por fechaVenc, id).
+ *  - Buscar por período (consulta a la BD; selecciona la fila si ya está cargada).
  *  - Agregar nuevas obligaciones desde la interfaz.
  *
  * Este panel muestra bien la integración entre:
@@ -36,10 +41,10 @@ import java.util.List;
  */
 public class PanelObligaciones extends JPanel {
 
-    // Servicios
-    private final ObligacionService obligacionService = new ObligacionService();
-    private final ClienteService clienteService = new ClienteService();
-    private final TipoObligacionService tipoObligacionService = new TipoObligacionService();
+    // Servicios (compartidos con los otros paneles)
+    private final ObligacionService obligacionService;
+    private final ClienteService clienteService;
+    private final TipoObligacionService tipoObligacionService;
 
     // Componentes UI
     private JTable tablaObligaciones;
@@ -48,16 +53,29 @@ public class PanelObligaciones extends JPanel {
     private JButton btnBuscar;
     private JButton btnAgregar;
     private JTextField txtPeriodo;
+    private final IndicadorProgreso indicador = new IndicadorProgreso();
 
-    /**
-     * Última lista de obligaciones cargada en la tabla.
-     * La uso para ordenar y buscar sin ir todo el tiempo a la BD.
-     */
+    /** Obligaciones cargadas en la tabla hasta ahora (todas las páginas vistas). */
     private List<Obligacion> ultimaLista = new ArrayList<>();
 
+    // === Paginación ===
+    private static final int TAMANIO_PAGINA = 100;
+
+    // Obligaciones de un período que se traen al buscar (se informa la cantidad)
+    private static final int MAXIMO_BUSQUEDA = 500;
+
+    private enum Orden { POR_ID, POR_VENCIMIENTO }
+
+    private Orden orden = Orden.POR_ID;
+    private boolean hayMasPaginas;
+    private PaginaSiguiente paginaSiguiente;   // prefetch en curso (o ya terminado)
+
     private final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
-    public PanelObligaciones() {
+    PanelObligaciones(Servicios servicios) {
+        this.obligacionService = servicios.obligaciones();
+        this.clienteService = servicios.clientes();
+        this.tipoObligacionService = servicios.tipos();
         initComponents();
     }
 
@@ -103,6 +121,16 @@ public class PanelObligaciones extends JPanel {
 
         JScrollPane scroll = new JScrollPane(tablaObligaciones);
         add(scroll, BorderLayout.CENTER);
+        add(indicador, BorderLayout.SOUTH);
+
+        // Al acercarse al final de la tabla se agrega la página siguiente
+        scroll.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar barra = (JScrollBar) e.getAdjustable();
+            int margen = tablaObligaciones.getRowHeight() * 5;
+            if (barra.getValue() + barra.getVisibleAmount() >= barra.getMaximum() - margen) {
+                mostrarPaginaSiguiente();
+            }
+        });
 
         // --- Acciones de los botones ---
         btnListar.addActionListener(e -> listarObligaciones());
@@ -134,57 +162,116 @@ public class PanelObligaciones extends JPanel {
     }
 
     /**
-     * Llama al servicio para traer todas las obligaciones de la BD
-     * y las carga en la tabla.
+     * Carga en la tabla la primera página de obligaciones (por ID)
+     * y pide la siguiente en segundo plano. Es el "actualizar" de la pantalla: descarta
+     * los listados cacheados para ver también lo que cambiaron otras terminales.
      */
     private void listarObligaciones() {
-        try {
-            ultimaLista = obligacionService.listar();
-            cargarEnTabla(ultimaLista);
-        } catch (DataAccessException e) {
-            JOptionPane.showMessageDialog(
-                    this,
-                    "Error al listar obligaciones:\n" + e.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
-        }
+        ObligacionService.descartarCache();
+        cargarPrimeraPagina(Orden.POR_ID);
     }
 
     /**
-     * Ordena la lista actual por fecha de vencimiento usando el servicio
-     * y vuelve a cargar la tabla.
+     * Vuelve a listar desde el principio ordenando por fecha de vencimiento.
+     * El orden lo resuelve la BD, así que las páginas siguientes siguen ordenadas.
      */
     private void ordenarPorVencimiento() {
-        if (ultimaLista == null || ultimaLista.isEmpty()) {
-            JOptionPane.showMessageDialog(
-                    this,
-                    "Primero debe listar las obligaciones.",
-                    "Aviso",
-                    JOptionPane.INFORMATION_MESSAGE
-            );
-            return;
+        cargarPrimeraPagina(Orden.POR_VENCIMIENTO);
+    }
+
+    /** Pide la primera página en segundo plano y la muestra en el EDT al terminar. */
+    private void cargarPrimeraPagina(Orden nuevoOrden) {
+        orden = nuevoOrden;
+        if (paginaSiguiente != null) paginaSiguiente.cancel(true);
+        paginaSiguiente = null;
+        hayMasPaginas = false;
+        TareaSegundoPlano.ejecutar(indicador, "Listando obligaciones...", "Error al listar obligaciones",
+                () -> pedirPagina(nuevoOrden, null),
+                pagina -> {
+                    ultimaLista = new ArrayList<>(pagina);
+                    cargarEnTabla(ultimaLista);
+                    hayMasPaginas = pagina.size() == TAMANIO_PAGINA;
+                    if (hayMasPaginas) pedirPaginaSiguiente();
+                });
+    }
+
+    /**
+     * Pide a la BD la página que sigue a 'ultima' (null = primera) en 'orden'.
+     * Corre fuera del EDT: el orden se recibe, no se lee del campo.
+     */
+    private List<Obligacion> pedirPagina(Orden orden, Obligacion ultima) throws DataAccessException {
+        if (orden == Orden.POR_VENCIMIENTO) {
+            return obligacionService.listarPaginaPorVencimiento(ultima, TAMANIO_PAGINA);
         }
+        int despuesDeId = ultima != null ? ultima.getIdObligacion() : 0;
+        return obligacionService.listarPagina(despuesDeId, TAMANIO_PAGINA);
+    }
 
-        List<Obligacion> ordenadas = obligacionService.ordenarPorVencimiento(ultimaLista);
-        cargarEnTabla(ordenadas);
+    /** Lanza en segundo plano la consulta de la página que sigue a la última cargada. */
+    private void pedirPaginaSiguiente() {
+        Obligacion ultima = ultimaLista.get(ultimaLista.size() - 1);
+        paginaSiguiente = new PaginaSiguiente(orden, ultima);
+        paginaSiguiente.execute();
     }
 
     /**
-     * Busca una obligación por período utilizando búsqueda binaria.
-     * Si la encuentra, selecciona la fila correspondiente en la tabla.
+     * Agrega a la tabla la página pedida por adelantado. Si todavía no llegó,
+     * se agrega sola cuando termine (PaginaSiguiente.done).
      */
-    private void buscarPorPeriodo() {
-        if (ultimaLista == null || ultimaLista.isEmpty()) {
+    private void mostrarPaginaSiguiente() {
+        PaginaSiguiente prefetch = paginaSiguiente;
+        if (!hayMasPaginas || prefetch == null) return;
+        if (!prefetch.isDone()) {
+            prefetch.mostrarAlTerminar = true;
+            return;
+        }
+        paginaSiguiente = null;
+        try {
+            List<Obligacion> pagina = prefetch.get();
+            ultimaLista.addAll(pagina);
+            agregarATabla(pagina);
+            hayMasPaginas = pagina.size() == TAMANIO_PAGINA;
+            if (hayMasPaginas) pedirPaginaSiguiente();
+        } catch (InterruptedException | CancellationException e) {
+            // se reinició el listado mientras tanto
+        } catch (ExecutionException e) {
+            hayMasPaginas = false;
             JOptionPane.showMessageDialog(
                     this,
-                    "Primero debe listar las obligaciones.",
-                    "Aviso",
-                    JOptionPane.INFORMATION_MESSAGE
+                    "Error al listar obligaciones:\n" + e.getCause().getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE
             );
-            return;
         }
+    }
+
+    /** Consulta de la página siguiente en un hilo de fondo (prefetch). */
+    private final class PaginaSiguiente extends SwingWorker<List<Obligacion>, Void> {
+        private final Orden orden;           // el del listado al crearla (el campo cambia en el EDT)
+        private final Obligacion ultima;
+        private boolean mostrarAlTerminar;   // el usuario ya llegó al final de la tabla
+
+        PaginaSiguiente(Orden orden, Obligacion ultima) {
+            this.orden = orden;
+            this.ultima = ultima;
+        }
+
+        @Override
+        protected List<Obligacion> doInBackground() throws DataAccessException {
+            return pedirPagina(orden, ultima);
+        }
+
+        @Override
+        protected void done() {
+            if (paginaSiguiente == this && mostrarAlTerminar) mostrarPaginaSiguiente();
+        }
+    }
 
+    /**
+     * Busca en la BD las obligaciones del período (no sólo entre las páginas cargadas).
+     * Si la primera ya está en la tabla, selecciona su fila; si no, la informa.
+     */
+    private void buscarPorPeriodo() {
         String periodo = txtPeriodo.getText();
         if (periodo == null || periodo.isBlank()) {
             JOptionPane.showMessageDialog(
@@ -196,8 +283,14 @@ public class PanelObligaciones extends JPanel {
             return;
         }
 
-        Obligacion encontrada = obligacionService.buscarPorPeriodo(ultimaLista, periodo);
-        if (encontrada == null) {
+        TareaSegundoPlano.ejecutar(indicador, "Buscando el período " + periodo.trim() + "...",
+                "Error al buscar por período",
+                () -> obligacionService.listarPorPeriodo(periodo, MAXIMO_BUSQUEDA),
+                encontradas -> mostrarBusqueda(periodo.trim(), encontradas));
+    }
+
+    private void mostrarBusqueda(String periodo, List<Obligacion> encontradas) {
+        if (encontradas.isEmpty()) {
             JOptionPane.showMessageDialog(
                     this,
                     "No se encontró ninguna obligación para el período: " + periodo,
@@ -207,23 +300,20 @@ public class PanelObligaciones extends JPanel {
             return;
         }
 
-        // Buscar la fila que corresponde a la obligación encontrada
+        Obligacion encontrada = encontradas.get(0);
+        String cantidad = encontradas.size() == 1
+                ? "Se encontró 1 obligación"
+                : "Se encontraron " + encontradas.size()
+                        + (encontradas.size() == MAXIMO_BUSQUEDA ? " o más" : "") + " obligaciones";
+
+        // Buscar la fila que corresponde a la primera encontrada (si ya se cargó su página)
         DefaultTableModel model = (DefaultTableModel) tablaObligaciones.getModel();
         int filaEncontrada = -1;
         for (int i = 0; i < model.getRowCount(); i++) {
             Object idTabla = model.getValueAt(i, 0);
-            if (idTabla instanceof Integer) {
-                int id = (Integer) idTabla;
-                if (id == encontrada.getIdObligacion()) {
-                    filaEncontrada = i;
-                    break;
-                }
-            } else if (idTabla != null) {
-                int id = Integer.parseInt(idTabla.toString());
-                if (id == encontrada.getIdObligacion()) {
-                    filaEncontrada = i;
-                    break;
-                }
+            if (idTabla != null && Integer.parseInt(idTabla.toString()) == encontrada.getIdObligacion()) {
+                filaEncontrada = i;
+                break;
             }
         }
 
@@ -232,26 +322,58 @@ public class PanelObligaciones extends JPanel {
             tablaObligaciones.scrollRectToVisible(
                     tablaObligaciones.getCellRect(filaEncontrada, 0, true)
             );
+            JOptionPane.showMessageDialog(
+                    this,
+                    cantidad + " para el período " + periodo +
+                            ".\nSe seleccionó en la tabla la de ID " + encontrada.getIdObligacion() + ".",
+                    "Resultado",
+                    JOptionPane.INFORMATION_MESSAGE
+            );
+            return;
         }
 
         JOptionPane.showMessageDialog(
                 this,
-                "Obligación encontrada para el período " + periodo +
-                        ".\nSe seleccionó la fila correspondiente en la tabla.",
+                cantidad + " para el período " + periodo + ". La primera todavía no está en la tabla:\n" +
+                        "ID " + encontrada.getIdObligacion() +
+                        " - " + (encontrada.getCliente() != null ? encontrada.getCliente().getRazonSocial() : "") +
+                        " - " + (encontrada.getTipo() != null ? encontrada.getTipo().getCodigo() : "") +
+                        " - vence " + encontrada.getFechaVenc().format(FORMATO_FECHA) +
+                        " - $ " + encontrada.getMonto(),
                 "Resultado",
                 JOptionPane.INFORMATION_MESSAGE
         );
     }
 
     /**
-     * Abre un formulario simple para crear una nueva obligación
-     * y la guarda en la BD a través del servicio.
+     * Abre un formulario simple para crear una nueva obligación.
+     * Clientes y tipos se piden a la vez en segundo plano; el formulario se abre
+     * en el EDT cuando llegan los dos.
      */
     private void agregarObligacion() {
-        try {
-            List<Cliente> clientes = clienteService.listar();
-            List<TipoObligacion> tipos = tipoObligacionService.listarTodos();
+        btnAgregar.setEnabled(false);
+        CompletableFuture<List<Cliente>> clientes = clienteService.listarAsync();
+        CompletableFuture<List<TipoObligacion>> tipos = tipoObligacionService.listarTodosAsync();
+
+        clientes.thenAcceptBoth(tipos, (c, t) -> SwingUtilities.invokeLater(() -> {
+            btnAgregar.setEnabled(true);
+            mostrarFormularioObligacion(c, t);
+        })).exceptionally(ex -> {
+            SwingUtilities.invokeLater(() -> {
+                btnAgregar.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Error de acceso a datos: " + Asincrono.causa(ex).getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            });
+            return null;
+        });
+    }
 
+    /**
+     * Formulario de alta con los clientes y tipos ya cargados;
+     * guarda la obligación en la BD a través del servicio.
+     */
+    private void mostrarFormularioObligacion(List<Cliente> clientes, List<TipoObligacion> tipos) {
+        try {
             if (clientes.isEmpty() || tipos.isEmpty()) {
                 JOptionPane.showMessageDialog(this,
                         "Debe haber al menos un cliente y un tipo de obligación cargados.",
@@ -323,8 +445,15 @@ public class PanelObligaciones extends JPanel {
      * Carga una lista de obligaciones en la JTable.
      */
     private void cargarEnTabla(List<Obligacion> lista) {
+        ((DefaultTableModel) tablaObligaciones.getModel()).setRowCount(0);
+        agregarATabla(lista);
+    }
+
+    /**
+     * Agrega filas al final de la JTable (página siguiente).
+     */
+    private void agregarATabla(List<Obligacion> lista) {
         DefaultTableModel model = (DefaultTableModel) tablaObligaciones.getModel();
-        model.setRowCount(0);
 
         for (Obligacion o : lista) {
             Cliente c = o.getCliente();
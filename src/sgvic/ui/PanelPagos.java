@@ -24,7 +24,7 @@ import java.util.List;
  */
 public class PanelPagos extends JPanel {
 
-    private final PagoService pagoService = new PagoService();
+    private final PagoService pagoService;
 
     private JTextField txtIdObligacion;
     private JTextField txtFecha;
@@ -33,6 +33,7 @@ public class PanelPagos extends JPanel {
     private JTable tablaPagos;
     private JButton btnRegistrar;
     private JButton btnVerPagos;
+    private final IndicadorProgreso indicador = new IndicadorProgreso();
 
     // Arreglo de medios de pago (cumple con el uso de arreglos + ArrayList)
     private static final String[] MEDIOS_PAGO = {
@@ -44,7 +45,8 @@ public class PanelPagos extends JPanel {
 
     private final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
-    public PanelPagos() {
+    PanelPagos(Servicios servicios) {
+        this.pagoService = servicios.pagos();
         initComponents();
     }
 
@@ -123,6 +125,7 @@ public class PanelPagos extends JPanel {
 
         JScrollPane scroll = new JScrollPane(tablaPagos);
         add(scroll, BorderLayout.CENTER);
+        add(indicador, BorderLayout.SOUTH);
 
         // --- Acciones de los botones ---
         btnRegistrar.addActionListener(e -> registrarPago());
@@ -226,44 +229,12 @@ public class PanelPagos extends JPanel {
 
     /**
      * Lista los pagos de la obligación indicada en txtIdObligacion.
+     * La consulta corre en segundo plano; la tabla se llena en el EDT al terminar.
      */
     private void listarPagosDeObligacion() {
+        int idObl;
         try {
-            int idObl = Integer.parseInt(txtIdObligacion.getText().trim());
-            List<Pago> pagos = pagoService.listarPorObligacion(idObl);
-
-            DefaultTableModel model = (DefaultTableModel) tablaPagos.getModel();
-            model.setRowCount(0);
-
-            for (Pago p : pagos) {
-                // Datos adicionales desde la obligación asociada
-                String cliente = "";
-                String periodo = "";
-                if (p.getObligacion() != null) {
-                    periodo = p.getObligacion().getPeriodo();
-                    if (p.getObligacion().getCliente() != null) {
-                        cliente = p.getObligacion().getCliente().getRazonSocial();
-                    }
-                }
-
-                String fechaStr = "";
-                if (p.getFecha() != null) {
-                    fechaStr = p.getFecha().format(FORMATO_FECHA);
-                }
-
-                model.addRow(new Object[]{
-                        p.getIdPago(),
-                        p.getObligacion() != null ? p.getObligacion().getIdObligacion() : idObl,
-                        cliente,
-                        periodo,
-                        fechaStr,
-                        p.getMedio(),
-                        p.getMonto()
-                });
-            }
-
-            configurarAnchosColumnasPagos();
-
+            idObl = Integer.parseInt(txtIdObligacion.getText().trim());
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(
                     this,
@@ -271,21 +242,47 @@ public class PanelPagos extends JPanel {
                     "Validación",
                     JOptionPane.WARNING_MESSAGE
             );
-        } catch (NotFoundException e) {
-            JOptionPane.showMessageDialog(
-                    this,
-                    e.getMessage(),
-                    "Atención",
-                    JOptionPane.WARNING_MESSAGE
-            );
-        } catch (DataAccessException e) {
-            JOptionPane.showMessageDialog(
-                    this,
-                    "Error al listar pagos:\n" + e.getMessage(),
-                    "Error BD",
-                    JOptionPane.ERROR_MESSAGE
-            );
+            return;
         }
+
+        TareaSegundoPlano.ejecutar(indicador, "Buscando pagos de la obligación " + idObl + "...",
+                "Error al listar pagos",
+                () -> pagoService.listarPorObligacion(idObl),
+                pagos -> mostrarPagos(idObl, pagos));
+    }
+
+    private void mostrarPagos(int idObl, List<Pago> pagos) {
+        DefaultTableModel model = (DefaultTableModel) tablaPagos.getModel();
+        model.setRowCount(0);
+
+        for (Pago p : pagos) {
+            // Datos adicionales desde la obligación asociada
+            String cliente = "";
+            String periodo = "";
+            if (p.getObligacion() != null) {
+                periodo = p.getObligacion().getPeriodo();
+                if (p.getObligacion().getCliente() != null) {
+                    cliente = p.getObligacion().getCliente().getRazonSocial();
+                }
+            }
+
+            String fechaStr = "";
+            if (p.getFecha() != null) {
+                fechaStr = p.getFecha().format(FORMATO_FECHA);
+            }
+
+            model.addRow(new Object[]{
+                    p.getIdPago(),
+                    p.getObligacion() != null ? p.getObligacion().getIdObligacion() : idObl,
+                    cliente,
+                    periodo,
+                    fechaStr,
+                    p.getMedio(),
+                    p.getMonto()
+            });
+        }
+
+        configurarAnchosColumnasPagos();
     }
 }
 
@@ -0,0 +1,187 @@
+package sgvic.ui;
+
+import sgvic.entidades.TotalPorMedio;
+import sgvic.entidades.TotalesObligaciones;
+import sgvic.servicios.ReporteService;
+import sgvic.servicios.ReporteService.Agrupacion;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Panel de reportes.
+ *
+ * Totales de obligaciones (pendiente, vencido, pagado) por cliente, tipo, período o
+ * mes de vencimiento, y pagos por medio de pago. Las sumas las hace la BD: la tabla
+ * recibe una fila por grupo. Se puede acotar por rango de fechas (vencimiento para
+ * obligaciones, fecha de pago para pagos). "Actualizar" vuelve a calcular aunque el
+ * reporte esté en el cache (cambios de otras terminales).
+ */
+public class PanelReportes extends JPanel {
+
+    private static final String[] REPORTES = {
+            "Obligaciones por cliente",
+            "Obligaciones por tipo",
+            "Obligaciones por período",
+            "Obligaciones por mes de vencimiento",
+            "Pagos por medio"
+    };
+
+    // Misma posición que REPORTES; el último (pagos) no usa Agrupacion
+    private static final Agrupacion[] AGRUPACIONES = {
+            Agrupacion.CLIENTE, Agrupacion.TIPO, Agrupacion.PERIODO, Agrupacion.MES_VENCIMIENTO
+    };
+
+    private final ReporteService reporteService;
+
+    private JComboBox<String> cmbReporte;
+    private JTextField txtDesde;
+    private JTextField txtHasta;
+    private JButton btnGenerar;
+    private JButton btnActualizar;
+    private JTable tablaReporte;
+    private final IndicadorProgreso indicador = new IndicadorProgreso();
+
+    private final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    PanelReportes(Servicios servicios) {
+        this.reporteService = servicios.reportes();
+        initComponents();
+    }
+
+    private void initComponents() {
+        setLayout(new BorderLayout(5, 5));
+
+        JPanel panelSuperior = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        cmbReporte = new JComboBox<>(REPORTES);
+        txtDesde = new JTextField(8);
+        txtHasta = new JTextField(8);
+        btnGenerar = new JButton("Generar");
+        btnActualizar = new JButton("Actualizar");
+
+        panelSuperior.add(cmbReporte);
+        panelSuperior.add(new JLabel("Desde (dd/MM/aaaa):"));
+        panelSuperior.add(txtDesde);
+        panelSuperior.add(new JLabel("Hasta:"));
+        panelSuperior.add(txtHasta);
+        panelSuperior.add(btnGenerar);
+        panelSuperior.add(btnActualizar);
+
+        add(panelSuperior, BorderLayout.NORTH);
+
+        tablaReporte = new JTable();
+        add(new JScrollPane(tablaReporte), BorderLayout.CENTER);
+        add(indicador, BorderLayout.SOUTH);
+
+        btnGenerar.addActionListener(e -> generar());
+        btnActualizar.addActionListener(e -> {
+            ReporteService.descartarCache();
+            generar();
+        });
+    }
+
+    /** Lee el filtro y pide el reporte elegido en segundo plano. */
+    private void generar() {
+        LocalDate desde;
+        LocalDate hasta;
+        try {
+            desde = leerFecha(txtDesde);
+            hasta = leerFecha(txtHasta);
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(
+                    this,
+                    "Las fechas deben tener formato dd/MM/aaaa (o quedar vacías).",
+                    "Validación",
+                    JOptionPane.WARNING_MESSAGE
+            );
+            return;
+        }
+
+        int elegido = cmbReporte.getSelectedIndex();
+        String descripcion = "Calculando: " + REPORTES[elegido] + "...";
+        if (elegido < AGRUPACIONES.length) {
+            Agrupacion agrupacion = AGRUPACIONES[elegido];
+            TareaSegundoPlano.ejecutar(indicador, descripcion, "Error al generar el reporte",
+                    () -> reporteService.totalesObligaciones(agrupacion, desde, hasta),
+                    filas -> mostrarTotales(agrupacion, filas));
+        } else {
+            TareaSegundoPlano.ejecutar(indicador, descripcion, "Error al generar el reporte",
+                    () -> reporteService.pagosPorMedio(desde, hasta),
+                    this::mostrarMedios);
+        }
+    }
+
+    private LocalDate leerFecha(JTextField campo) {
+        String texto = campo.getText().trim();
+        return texto.isEmpty() ? null : LocalDate.parse(texto, FORMATO_FECHA);
+    }
+
+    private void mostrarTotales(Agrupacion agrupacion, List<TotalesObligaciones> filas) {
+        String columnaClave;
+        switch (agrupacion) {
+            case CLIENTE: columnaClave = "ID Cliente"; break;
+            case TIPO: columnaClave = "Tipo"; break;
+            case PERIODO: columnaClave = "Período"; break;
+            default: columnaClave = "Mes venc."; break;
+        }
+        DefaultTableModel model = modelo(columnaClave, "Descripción", "Cantidad",
+                "Pendiente", "Vencido", "Pagado", "Total");
+
+        int cantidad = 0;
+        BigDecimal pendiente = BigDecimal.ZERO;
+        BigDecimal vencido = BigDecimal.ZERO;
+        BigDecimal pagado = BigDecimal.ZERO;
+        for (TotalesObligaciones t : filas) {
+            model.addRow(new Object[]{
+                    t.getClave(),
+                    t.getDescripcion() != null ? t.getDescripcion() : "",
+                    t.getCantidad(),
+                    t.getPendiente(),
+                    t.getVencido(),
+                    t.getPagado(),
+                    t.getTotal()
+            });
+            cantidad += t.getCantidad();
+            pendiente = pendiente.add(t.getPendiente());
+            vencido = vencido.add(t.getVencido());
+            pagado = pagado.add(t.getPagado());
+        }
+        model.addRow(new Object[]{
+                "TOTAL", "", cantidad, pendiente, vencido, pagado, pendiente.add(vencido).add(pagado)
+        });
+
+        tablaReporte.setModel(model);
+        tablaReporte.getColumnModel().getColumn(1).setPreferredWidth(220);
+    }
+
+    private void mostrarMedios(List<TotalPorMedio> filas) {
+        DefaultTableModel model = modelo("Medio de pago", "Cantidad", "Total");
+
+        int cantidad = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        for (TotalPorMedio m : filas) {
+            model.addRow(new Object[]{m.getMedio(), m.getCantidad(), m.getTotal()});
+            cantidad += m.getCantidad();
+            total = total.add(m.getTotal());
+        }
+        model.addRow(new Object[]{"TOTAL", cantidad, total});
+
+        tablaReporte.setModel(model);
+        tablaReporte.getColumnModel().getColumn(0).setPreferredWidth(260);
+    }
+
+    private static DefaultTableModel modelo(String... columnas) {
+        return new DefaultTableModel(new Object[][]{}, columnas) {
+            @Override
+            public boolean isCellEditable(int row, int col) {
+                return false;
+            }
+        };
+    }
+}
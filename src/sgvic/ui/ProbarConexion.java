@@ -8,6 +8,9 @@ public class ProbarConexion {
     public static void main(String[] args) {
         try (Connection con = DB.getConnection()) {
             System.out.println("✅ Conexión exitosa a la base de datos SGVIC!");
+            for (String problema : DB.getProblemasEsquema()) {
+                System.out.println("⚠ " + problema);
+            }
         } catch (SQLException e) {
             System.out.println("❌ Error de conexión: " + e.getMessage());
         }
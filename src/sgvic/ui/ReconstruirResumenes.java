@@ -0,0 +1,23 @@
+package sgvic.ui;
+
+import sgvic.excepciones.DataAccessException;
+import sgvic.servicios.ResumenClienteService;
+
+/**
+ * Recalcula desde cero la tabla 'cliente_resumen' (deuda por cliente).
+ * Hace falta sólo si se cargaron o corrigieron obligaciones por fuera de la aplicación:
+ * las escrituras de SGVIC ya la mantienen al día.
+ */
+public class ReconstruirResumenes {
+    public static void main(String[] args) {
+        try {
+            long inicio = System.nanoTime();
+            int filas = new ResumenClienteService().reconstruir();
+            System.out.printf("Resúmenes de clientes reconstruidos (%d filas afectadas, %.0f ms)%n",
+                    filas, (System.nanoTime() - inicio) / 1e6);
+        } catch (DataAccessException e) {
+            System.out.println("Error al reconstruir los resúmenes: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
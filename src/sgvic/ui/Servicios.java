@@ -0,0 +1,70 @@
+package sgvic.ui;
+
+import sgvic.servicios.AlertaService;
+import sgvic.servicios.ClienteService;
+import sgvic.servicios.ImportacionClientesService;
+import sgvic.servicios.ObligacionService;
+import sgvic.servicios.PagoService;
+import sgvic.servicios.ReporteService;
+import sgvic.servicios.ResumenClienteService;
+import sgvic.servicios.TipoObligacionService;
+
+/**
+ * Instancias de los servicios compartidas por todos los paneles de la ventana.
+ *
+ * Cada servicio se crea recién cuando un panel lo pide (así abrir la ventana no carga
+ * la configuración ni el driver de la BD). Los paneles se construyen en el EDT, que es
+ * el único que llama a estos métodos; los servicios en sí no guardan estado y se pueden
+ * usar desde las tareas en segundo plano.
+ */
+final class Servicios {
+
+    private ClienteService clientes;
+    private ObligacionService obligaciones;
+    private TipoObligacionService tipos;
+    private PagoService pagos;
+    private AlertaService alertas;
+    private ImportacionClientesService importacion;
+    private ResumenClienteService resumenes;
+    private ReporteService reportes;
+
+    ClienteService clientes() {
+        if (clientes == null) clientes = new ClienteService();
+        return clientes;
+    }
+
+    ObligacionService obligaciones() {
+        if (obligaciones == null) obligaciones = new ObligacionService();
+        return obligaciones;
+    }
+
+    TipoObligacionService tipos() {
+        if (tipos == null) tipos = new TipoObligacionService();
+        return tipos;
+    }
+
+    PagoService pagos() {
+        if (pagos == null) pagos = new PagoService();
+        return pagos;
+    }
+
+    AlertaService alertas() {
+        if (alertas == null) alertas = new AlertaService();
+        return alertas;
+    }
+
+    ImportacionClientesService importacion() {
+        if (importacion == null) importacion = new ImportacionClientesService();
+        return importacion;
+    }
+
+    ResumenClienteService resumenes() {
+        if (resumenes == null) resumenes = new ResumenClienteService();
+        return resumenes;
+    }
+
+    ReporteService reportes() {
+        if (reportes == null) reportes = new ReporteService();
+        return reportes;
+    }
+}
@@ -0,0 +1,124 @@
+package sgvic.ui;
+
+import sgvic.config.DB;
+import sgvic.excepciones.DomainException;
+import sgvic.excepciones.NotFoundException;
+
+import javax.swing.*;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Acceso a datos de un panel, fuera del EDT.
+ *
+ * El trabajo corre en un hilo de fondo (SwingWorker) mientras el IndicadorProgreso del
+ * panel muestra qué se está haciendo y ofrece "Cancelar". El resultado se entrega en
+ * el EDT (alTerminar), así que ahí ya se puede tocar la tabla. Si falla, se muestra
+ * el error; si se canceló, no se hace nada.
+ *
+ * <pre>
+ *   TareaSegundoPlano.ejecutar(indicador, "Listando clientes...", "Error al listar clientes",
+ *           clienteService::listar,
+ *           clientes -> cargarEnTabla(clientes));
+ * </pre>
+ * Cancelar interrumpe el hilo (corta los recorridos con cursor) y además cancela en el
+ * servidor la consulta que esté ejecutando (DB.cancelarConsultas).
+ */
+final class TareaSegundoPlano<T> extends SwingWorker<T, Void> {
+
+    /** Lo que corre fuera del EDT (puede lanzar las excepciones de los servicios). */
+    @FunctionalInterface
+    interface Trabajo<T> {
+        T ejecutar() throws Exception;
+    }
+
+    /** Lo que se hace con el resultado, ya en el EDT. */
+    @FunctionalInterface
+    interface AlTerminar<T> {
+        void aceptar(T resultado);
+    }
+
+    private final IndicadorProgreso indicador;
+    private final String descripcion;
+    private final String mensajeError;
+    private final Trabajo<T> trabajo;
+    private final AlTerminar<T> alTerminar;
+
+    private volatile Thread hilo;   // el hilo de fondo mientras corre el trabajo
+    private final long pedida = System.nanoTime();   // el clic que la lanzó
+
+    private TareaSegundoPlano(IndicadorProgreso indicador, String descripcion, String mensajeError,
+                              Trabajo<T> trabajo, AlTerminar<T> alTerminar) {
+        this.indicador = indicador;
+        this.descripcion = descripcion;
+        this.mensajeError = mensajeError;
+        this.trabajo = trabajo;
+        this.alTerminar = alTerminar;
+    }
+
+    /**
+     * Lanza 'trabajo' en segundo plano (llamar desde el EDT). Si el indicador tenía otra
+     * tarea en curso, esa se cancela: cada panel muestra el resultado de la última.
+     */
+    static <T> TareaSegundoPlano<T> ejecutar(IndicadorProgreso indicador, String descripcion, String mensajeError,
+                                             Trabajo<T> trabajo, AlTerminar<T> alTerminar) {
+        TareaSegundoPlano<T> tarea = new TareaSegundoPlano<>(indicador, descripcion, mensajeError, trabajo, alTerminar);
+        indicador.iniciar(tarea);
+        tarea.execute();
+        return tarea;
+    }
+
+    String getDescripcion() {
+        return descripcion;
+    }
+
+    @Override
+    protected T doInBackground() throws Exception {
+        hilo = Thread.currentThread();
+        try {
+            return trabajo.ejecutar();
+        } finally {
+            hilo = null;
+        }
+    }
+
+    @Override
+    protected void done() {
+        indicador.terminar(this);
+        if (isCancelled()) return;
+        try {
+            T resultado = get();
+            alTerminar.aceptar(resultado);
+            MedicionArranque.primerosDatos(descripcion, System.nanoTime() - pedida);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            mostrarError(e.getCause());
+        }
+    }
+
+    /**
+     * Cancela la tarea. La cancelación en el servidor abre otra conexión (KILL QUERY),
+     * así que se pide desde un hilo aparte para no trabar el EDT.
+     */
+    void cancelar() {
+        Thread enCurso = hilo;
+        cancel(true);
+        if (enCurso == null) return;
+        Thread t = new Thread(() -> {
+            // si el trabajo ya terminó, ese hilo del pool de SwingWorker puede estar en otra tarea
+            if (hilo == enCurso) DB.cancelarConsultas(enCurso);
+        }, "sgvic-cancelar");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void mostrarError(Throwable causa) {
+        if (causa instanceof DomainException || causa instanceof NotFoundException) {
+            JOptionPane.showMessageDialog(indicador, causa.getMessage(),
+                    "Atención", JOptionPane.WARNING_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(indicador, mensajeError + ":\n" + causa.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}